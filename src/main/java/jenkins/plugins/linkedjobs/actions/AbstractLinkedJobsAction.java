@@ -24,11 +24,14 @@
 
 package jenkins.plugins.linkedjobs.actions;
 
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
-import jenkins.model.Jenkins;
+import jenkins.plugins.linkedjobs.helpers.LabelJobsIndex;
+import jenkins.plugins.linkedjobs.helpers.PhaseTimings;
+import jenkins.plugins.linkedjobs.helpers.PhaseTimings.Phase;
 import jenkins.plugins.linkedjobs.helpers.TriggeredJobsHelper;
 import jenkins.plugins.linkedjobs.model.JobsGroup;
 import jenkins.plugins.linkedjobs.model.TriggeredJob;
@@ -36,7 +39,6 @@ import jenkins.plugins.linkedjobs.settings.GlobalSettings;
 import hudson.model.AbstractProject;
 import hudson.model.Action;
 import hudson.model.Label;
-import hudson.model.TopLevelItem;
 
 public abstract class AbstractLinkedJobsAction implements Action {
     
@@ -58,28 +60,41 @@ public abstract class AbstractLinkedJobsAction implements Action {
         return GlobalSettings.get().getDetailedView();
     }
     
+    // to be called at the end of index.jelly
+    public void renderDone() {
+        PhaseTimings.renderDone(getTimingsPage());
+    }
+    
+    // page under which the timings of this action are recorded
+    protected String getTimingsPage() {
+        return PhaseTimings.LINKED_JOBS;
+    }
+    
     protected List<JobsGroup> buildJobsGroups() {
+        PhaseTimings.Timer timer = PhaseTimings.get().newTimer(getTimingsPage());
         HashMap<Label, JobsGroup> tmpResult = new HashMap<Label, JobsGroup>();
 
-        // this loop is directly inspired from hudson.model.Label.getTiedJobs()
-        for (AbstractProject<?, ?> job : Jenkins.getInstance().getAllItems(AbstractProject.class)) {
-            if (!(job instanceof TopLevelItem)) {
-                // consider only TopLevelItem - not 100% sure why, though...
-                continue;
-            }
-
-            Label jobLabel = job.getAssignedLabel();
+        // jobs grouped by assigned label are maintained by LabelJobsIndex, so
+        // relevance is tested once per label instead of once per job. All labels below
+        // are in canonical form, so equivalent labels share the same JobsGroup
+        timer.start(Phase.ITEM_SCAN);
+        LabelJobsIndex index = LabelJobsIndex.get();
+        for (Label jobLabel : getCandidateLabels(index)) {
             if (isLabelRelevant(jobLabel)) {
-                JobsGroup matchingJobGroup = tmpResult.get(jobLabel);
-                if (matchingJobGroup == null) {
-                    matchingJobGroup = new JobsGroup(jobLabel);
-                    tmpResult.put(jobLabel, matchingJobGroup);
+                List<AbstractProject<?, ?>> jobs = index.getJobs(jobLabel);
+                if (jobs.isEmpty()) {
+                    // none of these jobs are visible to the current user
+                    continue;
                 }
-                matchingJobGroup.addJob(job);
+                JobsGroup matchingJobGroup = newJobsGroup(jobLabel, timer);
+                matchingJobGroup.addJobs(jobs);
+                tmpResult.put(jobLabel, matchingJobGroup);
             }
         }
+        timer.stop();
         
         // then browse list of triggered jobs
+        timer.start(Phase.TRIGGER_SCAN);
         HashMap<Label, HashMap<AbstractProject<?,?>, TriggeredJob>> triggeredJobsByLabel =
                 new HashMap<Label, HashMap<AbstractProject<?,?>, TriggeredJob>>();
         TriggeredJobsHelper.populateTriggeredJobs(triggeredJobsByLabel);
@@ -88,7 +103,7 @@ public abstract class AbstractLinkedJobsAction implements Action {
             if (isLabelRelevant(label)) {
                 JobsGroup matchingJobGroup = tmpResult.get(label);
                 if (matchingJobGroup == null) {
-                    matchingJobGroup = new JobsGroup(label);
+                    matchingJobGroup = newJobsGroup(label, timer);
                     tmpResult.put(label, matchingJobGroup);
                 }
                 // get the list of all triggered jobs
@@ -96,7 +111,10 @@ public abstract class AbstractLinkedJobsAction implements Action {
             }
         }
         
+        timer.stop();
+        
         // then browse list of jobs with a Label parameter with a default value
+        timer.start(Phase.DEFAULT_VALUE_SCAN);
         HashMap<Label, List<AbstractProject<?,?>>> jobsByDefaultLabel = new HashMap<Label, List<AbstractProject<?,?>>>();
         TriggeredJobsHelper.populateJobsWithLabelDefaultValue(jobsByDefaultLabel);
         for (Map.Entry<Label, List<AbstractProject<?, ?>>> entry : jobsByDefaultLabel.entrySet()) {
@@ -104,14 +122,36 @@ public abstract class AbstractLinkedJobsAction implements Action {
             if (isLabelRelevant(label)) {
                 JobsGroup matchJobsGroup = tmpResult.get(label);
                 if (matchJobsGroup == null) {
-                    matchJobsGroup = new JobsGroup(label);
+                    matchJobsGroup = newJobsGroup(label, timer);
                     tmpResult.put(label, matchJobsGroup);
                 }
                 matchJobsGroup.addJobsWithDefaultValue(entry.getValue());
             }
         }
 
-        return buildResult(tmpResult);
+        timer.stop();
+
+        timer.start(Phase.SORT);
+        List<JobsGroup> result = buildResult(tmpResult);
+        timer.stop();
+        timer.record();
+        PhaseTimings.renderStarted();
+        return result;
+    }
+    
+    // nodes matching the label are listed when the group is created
+    private static JobsGroup newJobsGroup(Label label, PhaseTimings.Timer timer) {
+        timer.start(Phase.NODE_MATCHING);
+        JobsGroup group = new JobsGroup(label);
+        timer.stop();
+        return group;
+    }
+    
+    /**
+     * @return the labels of the index that may be relevant, all of them by default
+     */
+    protected Collection<Label> getCandidateLabels(LabelJobsIndex index) {
+        return index.getLabels();
     }
     
     protected abstract List<JobsGroup> buildResult(HashMap<Label, JobsGroup> tmpResult);
@@ -0,0 +1,61 @@
+/*
+ * The MIT License
+ * 
+ * Copyright (C) 2026 Dominique Brice
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is furnished
+ * to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package jenkins.plugins.linkedjobs.actions;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+
+import jenkins.plugins.linkedjobs.helpers.PhaseTimings;
+import jenkins.plugins.linkedjobs.model.JobsGroup;
+import hudson.model.Label;
+
+/**
+ * Groups of jobs of all labels at once, for the nodes report of the Labels Dashboard:
+ * the Linked Jobs page of each node shows the groups whose label matches this node.
+ * Not displayed by itself.
+ */
+class AllLinkedJobs extends AbstractLinkedJobsAction {
+
+    public List<JobsGroup> getJobsGroups() {
+        return buildJobsGroups();
+    }
+
+    @Override
+    protected String getTimingsPage() {
+        return PhaseTimings.NODES_REPORT;
+    }
+
+    protected List<JobsGroup> buildResult(HashMap<Label, JobsGroup> tmpResult) {
+        ArrayList<JobsGroup> result = new ArrayList<JobsGroup>(tmpResult.values());
+        Collections.sort(result);
+        return result;
+    }
+
+    protected boolean isLabelRelevant(Label jobLabel) {
+        return jobLabel != null;
+    }
+}
@@ -30,6 +30,7 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 
+import jenkins.plugins.linkedjobs.helpers.NodeMatchCache;
 import jenkins.plugins.linkedjobs.model.JobsGroup;
 import jenkins.plugins.linkedjobs.settings.GlobalSettings;
 import hudson.model.ModelObject;
@@ -123,6 +124,7 @@ public class ComputerLinkedJobsAction extends AbstractLinkedJobsAction {
     
     protected boolean isLabelRelevant(Label jobLabel) {
         // can jobs configured with this label run on this node?
-        return jobLabel != null && jobLabel.matches(computer.getNode());
+        Node node = computer.getNode();
+        return jobLabel != null && node != null && NodeMatchCache.get().matches(jobLabel, node);
     }
 }
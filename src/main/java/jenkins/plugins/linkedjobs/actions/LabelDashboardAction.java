@@ -24,50 +24,45 @@
 
 package jenkins.plugins.linkedjobs.actions;
 
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.Collections;
-import java.util.Comparator;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Iterator;
-import java.util.List;
-import java.util.Map;
-import java.util.Set;
 
 import jenkins.model.Jenkins;
-import jenkins.plugins.linkedjobs.helpers.TriggeredJobsHelper;
-import jenkins.plugins.linkedjobs.model.LabelAtomData;
-import jenkins.plugins.linkedjobs.model.NodeData;
-import jenkins.plugins.linkedjobs.model.TriggeredJob;
+import jenkins.plugins.linkedjobs.helpers.DashboardSnapshotBuilder;
+import jenkins.plugins.linkedjobs.helpers.DashboardSnapshotProvider;
+import jenkins.plugins.linkedjobs.helpers.DeltaJsonWriter;
+import jenkins.plugins.linkedjobs.helpers.ETags;
+import jenkins.plugins.linkedjobs.helpers.LabelJobsIndex;
+import jenkins.plugins.linkedjobs.helpers.LabelsDataJsonWriter;
+import jenkins.plugins.linkedjobs.helpers.NodesReportWriter;
+import jenkins.plugins.linkedjobs.helpers.PhaseTimings;
+import jenkins.plugins.linkedjobs.helpers.QueryJsonWriter;
+import jenkins.plugins.linkedjobs.helpers.SimulationJsonWriter;
+import jenkins.plugins.linkedjobs.model.DashboardSnapshot;
 import jenkins.plugins.linkedjobs.settings.GlobalSettings;
 import jenkins.security.stapler.StaplerDispatchable;
 import hudson.Extension;
-import hudson.model.AbstractProject;
-import hudson.model.Label;
 import hudson.model.Node;
-import hudson.model.labels.LabelAtom;
 import hudson.model.RootAction;
-import hudson.model.TopLevelItem;
 import hudson.util.HttpResponses;
-import hudson.slaves.Cloud;
 
-import net.sf.json.JSONArray;
+import javax.servlet.http.HttpServletResponse;
+
+import net.sf.json.JSONObject;
 import org.kohsuke.stapler.HttpResponse;
+import org.kohsuke.stapler.QueryParameter;
+import org.kohsuke.stapler.Stapler;
+import org.kohsuke.stapler.StaplerProxy;
+import org.kohsuke.stapler.interceptor.RequirePOST;
 
 /**
  * Action (and ExtensionPoint!) responsible for the display of the Labels Dashboard plugin page.
- * Scans all jobs and nodes of this jenkins instance to extract all used (and unused) labels
+ * All jobs and nodes of this jenkins instance are analyzed by {@link DashboardSnapshotBuilder}
+ * to extract all used (and unused) labels
  * @author dominiquebrice
  */
 @Extension
-public class LabelDashboardAction implements RootAction {
+public class LabelDashboardAction implements RootAction, StaplerProxy {
     
-    // see getRefresh
-    private boolean m_onlyExclusiveNodes;
-    private HashMap<Label, HashMap<AbstractProject<?, ?>, TriggeredJob>> m_triggeredJobsByLabel;
-    private HashMap<Label, List<AbstractProject<?,?>>> m_jobsByDefaultLabel;
-
     public String getIconFileName() {
         return "attribute.png";
     }
@@ -92,447 +87,164 @@ public class LabelDashboardAction implements RootAction {
         return GlobalSettings.get().getShowLabellessJobs();
     }
     
-    // while the display of LabelDashboardAction.index.jelly is calculated, we will
-    // need several time to have the list of triggered jobs, organized by their triggering label.
-    // to avoid doing it several times, a 'fake' initialize function is called at the beginning of
-    // index.jelly. Its result is not directly used, but it allows to 'refresh' the value
-    // of several LabelDashboardAction instance variables, used in other get* functions below
-    public boolean getRefresh() {
-        
-        m_onlyExclusiveNodes = getOnlyExclusiveNodes();
-
-        m_triggeredJobsByLabel = new HashMap<Label, HashMap<AbstractProject<?,?>, TriggeredJob>>();
-        TriggeredJobsHelper.populateTriggeredJobs(m_triggeredJobsByLabel);
-        m_jobsByDefaultLabel = new HashMap<Label, List<AbstractProject<?,?>>>();
-        TriggeredJobsHelper.populateJobsWithLabelDefaultValue(m_jobsByDefaultLabel);
-        
-        return true;
-    }
-    
-    // boolean indicator used on the dashboard page to determine whether
-    // clouds information should be displayed at all
-    public boolean getHasAtLeastOneCloud() {
-        return Jenkins.getInstance().clouds.size() > 0;
-    }
-
-    @StaplerDispatchable
-    public HttpResponse doLabelsData() {
-        getRefresh();
-        List<LabelAtomData> labels = getLabelsData();
-        if (labels.size() == 0) {
-            // sometimes it's empty, in order to have the correct list, try it again
-            getRefresh();
-            labels = getLabelsData();
-        }
-        return HttpResponses.okJSON(JSONArray.fromObject(labels));
-    }
-
-    /**
-     * This function scans all jobs and all nodes of this Jenkins instance
-     * to extract all LabelAtom defined. Goal is to list, per LabelAtom, all jobs
-     * and all nodes associated to it.
-     * It ignores nodes' self labels, that are managed by getNodesData()
-     * @return a list of LabelAtomData
-     */
-    public List<LabelAtomData> getLabelsData() {
-        HashMap<LabelAtom, LabelAtomData> tmpResult = new HashMap<LabelAtom, LabelAtomData>();
-        
-        // build a list of all the nodes self labels
-        HashSet<LabelAtom> nodesSelfLabels = new HashSet<LabelAtom>();
-        nodesSelfLabels.add(Jenkins.getInstance().getSelfLabel());
-        for (Node node : Jenkins.getInstance().getNodes()) {
-            nodesSelfLabels.add(node.getSelfLabel());
-        }
-        
-        // This loop is directly inspired from hudson.model.Label.getTiedJobs()
-        // List all LabelAtom used by all jobs, except nodes self labels that are
-        // processed in getNodesData()
-        for (AbstractProject<?, ?> job : Jenkins.getInstance().getAllItems(AbstractProject.class)) {
-            if (!(job instanceof TopLevelItem)) {
-                continue;
-            }
-            Label assignedLabel = job.getAssignedLabel();
-            if (assignedLabel == null) {
-                // should we do something particular for jobs with no labels?
-                continue;
-            }
-
-            for (LabelAtom labelAtom : assignedLabel.listAtoms()) {
-                if (nodesSelfLabels.contains(labelAtom)) {
-                    // skip label that corresponds to a node name
-                    // see getNodesData()
-                    continue;
-                }
-                if (!tmpResult.containsKey(labelAtom)) {
-                    tmpResult.put(labelAtom, new LabelAtomData(labelAtom));
-                }
-                tmpResult.get(labelAtom).addJob(job);
-            }
-        }
-        
-        // then browse list of triggered jobs
-        for (Map.Entry<Label, HashMap<AbstractProject<?, ?>, TriggeredJob>> entry: m_triggeredJobsByLabel.entrySet()) {
-            for (LabelAtom labelAtom : entry.getKey().listAtoms()) {
-                if (nodesSelfLabels.contains(labelAtom)) {
-                    // skip label that corresponds to a node name
-                    // see getNodesData()
-                    continue;
-                }
-                if (!tmpResult.containsKey(labelAtom)) {
-                    tmpResult.put(labelAtom, new LabelAtomData(labelAtom));
-                }
-                tmpResult.get(labelAtom).addTriggeredJobs(entry.getValue().values());
-            }
-        }
-        
-        // then browse list of jobs with default values for a Label parameter
-        for (Map.Entry<Label, List<AbstractProject<?,?>>> entry : m_jobsByDefaultLabel.entrySet()) {
-            for (LabelAtom labelAtom : entry.getKey().listAtoms()) {
-                if (nodesSelfLabels.contains(labelAtom)) {
-                    // skip label that corresponds to a node name
-                    // see getNodesData()
-                    continue;
-                }
-                if (!tmpResult.containsKey(labelAtom)) {
-                    tmpResult.put(labelAtom, new LabelAtomData(labelAtom));
-                }
-                tmpResult.get(labelAtom).addJobsWithDefaultValue(entry.getValue());
-            }
+    // answers conditional GET requests of labelsData before anything is computed, when the
+    // client already has the current version. The dashboard itself is never answered with
+    // 304: it shows the live status of the builds of the listed jobs, see <t:projectView>
+    public Object getTarget() {
+        String path = Stapler.getCurrentRequest().getRestOfPath();
+        if (!"/labelsData".equals(path)) {
+            return this;
         }
-        
-        // list all LabelAtom defined by all nodes, including Jenkins master node,
-        // but ignore nodes' self labels. See listNodeLabels()
-        listNodeLabels(nodesSelfLabels, tmpResult, Jenkins.getInstance());
-        for (Node node : Jenkins.getInstance().getNodes()) {
-            listNodeLabels(nodesSelfLabels, tmpResult, node);
+        DashboardSnapshot latest = DashboardSnapshotProvider.get().getLatest();
+        String version = Long.toString(latest == null ? ETags.getGeneration() : latest.getGeneration());
+        if (ETags.isNotModified(getUrlName() + path, version)) {
+            return HttpResponses.status(HttpServletResponse.SC_NOT_MODIFIED);
         }
-
-        //list all available labels defined by all clouds' templates.
-        listCloudTemplateLabels(tmpResult);
-
-        ArrayList<LabelAtomData> result = new ArrayList<LabelAtomData>();
-        result.addAll(tmpResult.values());
-        // sort labels alphabetically by name
-        Collections.sort(result);
-        return result;
+        return this;
     }
     
-    /**
-     * JENKINS-25188 - Orphaned jobs do not show jobs without label when all nodes set to Label restrictions
-     * This function scans all nodes to determine if at least one is in non-exclusive mode,
-     * meaning it can be used to run jobs with no labels.
-     * If there is no such node, jobs without labels can't be run at all
-     * @return true only if all nodes are set to Mode.EXCLUSIVE
-     */
-    public static boolean getOnlyExclusiveNodes() {
-        Jenkins jenkins = Jenkins.getInstance();
-        if (!Node.Mode.EXCLUSIVE.equals(jenkins.getMode())) {
-            return false;
-        }
-        Iterator<Node> i = jenkins.getNodes().iterator();
-        while (i.hasNext()) {
-            if (!Node.Mode.EXCLUSIVE.equals(i.next().getMode())) {
-                return false;
-            }
-        }
-        return true;
+    // all data displayed by index.jelly, computed in one go. This action is a singleton, so
+    // nothing is stored in it: concurrent requests share the same computation instead
+    public DashboardSnapshot getSnapshot() {
+        DashboardSnapshot snapshot = DashboardSnapshotProvider.get().getSnapshot();
+        PhaseTimings.renderStarted();
+        return snapshot;
     }
     
-    // JENKINS-25163 - Add list of jobs that do not have a label
-    // this function returns all jobs that have no associated label(s)
-    public List<AbstractProject<?, ?>> getJobsWithNoLabels() {
-        ArrayList<AbstractProject<?, ?>> noLabelsJobs = new ArrayList<AbstractProject<?, ?>>();
-        for (AbstractProject<?, ?> job : Jenkins.getInstance().getAllItems(AbstractProject.class)) {
-            if (!(job instanceof TopLevelItem)) {
-                // consider only TopLevelItem - not 100% sure why, though...
-                continue;
-            }
-            Label jobLabel = job.getAssignedLabel();
-            if (jobLabel == null) {
-                noLabelsJobs.add(job);
-            }
-        }
-        // sort list by jobs names
-        Collections.sort(noLabelsJobs, new Comparator<AbstractProject<?, ?>>() {
-            public int compare(AbstractProject<?, ?> o1, AbstractProject<?, ?> o2) {
-                return o1.getName().compareTo(o2.getName());
-            }
-        });
-        return noLabelsJobs;
+    // to be called at the end of index.jelly
+    public void renderDone() {
+        PhaseTimings.renderDone(PhaseTimings.DASHBOARD);
+    }
+    
+    public boolean getBackgroundRefresh() {
+        return GlobalSettings.get().getRefreshInterval() > 0;
     }
     
     /**
-     * @param label the label to test
-     * @return true if no node can accept this label. This means that if a job has this label
-     * it will remain stuck in the queue as no node can run it
+     * Compute the dashboard again for the current user, instead of waiting for
+     * the next background refresh
      */
-    private boolean isOrphanedLabel(Label label) {
-        if (label == null) {
-            // if job.getAssignedLabel is null then the job can run
-            // anywhere, so we're fine...
-            if (m_onlyExclusiveNodes) {
-                // ... except if all nodes are in exclusive mode!
-                // JENKINS-25188 - Orphaned jobs do not show jobs without label when all nodes set to Label restrictions
-                return true;
-            }
-            return false;
-        }
-        Jenkins jenkins = Jenkins.getInstance();
-        if (label.matches(jenkins)) {
-            // this job can run on the master, skip it
-            return false;
-        }
+    @RequirePOST
+    public HttpResponse doRefresh() {
+        DashboardSnapshotProvider.get().refresh();
+        return HttpResponses.redirectToDot();
+    }
 
-        for (Node node : jenkins.getNodes()) {
-            if (label.matches(node)) {
-                // this label can run on this node... label is not orphaned!
-                return false;
-            }
+    /**
+     * Labels section of the dashboard as JSON, see README.md for the schema
+     * @param fields comma-separated list of the fields to return, all fields by default
+     * @param offset number of labels to skip
+     * @param limit maximum number of labels to return
+     */
+    @StaplerDispatchable
+    public HttpResponse doLabelsData(@QueryParameter String fields, @QueryParameter String offset,
+            @QueryParameter String limit) {
+        try {
+            return new LabelsDataJsonWriter(getSnapshot(), fields, offset, limit);
         }
-        
-        // JENKINS-32445, also look for clouds that could support this label
-        for (Cloud c : Jenkins.getInstance().clouds) {
-            if (c.canProvision(label)) {
-                return false;
-            }
+        catch (IllegalArgumentException e) {
+            return HttpResponses.errorJSON(e.getMessage());
         }
-        return true;
     }
     
-    // this function finds all triggered jobs that can't run on any nodes
-    // because their triggering jobs trigger them with a label that is compatible
-    // with no nodes - JENKINS-27588 - nor clouds - JENKINS-32445
-    public List<TriggeredJob> getOrphanedTriggeredJobs() {
-        ArrayList<TriggeredJob> orphanedJobs = new ArrayList<TriggeredJob>();
-        for (Map.Entry<Label, HashMap<AbstractProject<?, ?>, TriggeredJob>> entry : m_triggeredJobsByLabel.entrySet()) {
-            if (isOrphanedLabel(entry.getKey())) {
-                // all these triggered jobs are in trouble!
-                orphanedJobs.addAll(entry.getValue().values());
-            }
+    /**
+     * What changed in the Labels section of the dashboard since a previous call to
+     * labelsData or delta, see README.md for the schema
+     * @param since generation returned by the previous call
+     * @param fields comma-separated list of the fields of labels to return, all fields by default
+     */
+    @StaplerDispatchable
+    public HttpResponse doDelta(@QueryParameter String since, @QueryParameter String fields) {
+        try {
+            return new DeltaJsonWriter(getSnapshot(), since, fields);
         }
-        return orphanedJobs;
-    }
-    
-    public Set<AbstractProject<?, ?>> getOrphanedDefaultValueJobs() {
-        HashSet<AbstractProject<?, ?>> orphanedJobs = new HashSet<AbstractProject<?,?>>();
-        for (Map.Entry<Label, List<AbstractProject<?,?>>> entry : m_jobsByDefaultLabel.entrySet()) {
-            if (isOrphanedLabel(entry.getKey())) {
-                // all these triggered jobs are in trouble!
-                orphanedJobs.addAll(entry.getValue());
-            }
+        catch (IllegalArgumentException e) {
+            return HttpResponses.errorJSON(e.getMessage());
         }
-        return orphanedJobs;
     }
     
-    // this function finds all jobs that can't run on any nodes
-    // because of labels (mis-)configuration
-    public List<AbstractProject<?, ?>> getOrphanedJobs() {
-        ArrayList<AbstractProject<?, ?>> orphanedJobs = new ArrayList<AbstractProject<?, ?>>();
-        for (AbstractProject<?, ?> job : Jenkins.getInstance().getAllItems(AbstractProject.class)) {
-            if (!(job instanceof TopLevelItem)) {
-                // consider only TopLevelItem - not 100% sure why, though...
-                continue;
-            }
-
-            if (isOrphanedLabel(job.getAssignedLabel())) {
-                orphanedJobs.add(job);
-            }
-        }
-        // sort list by jobs names
-        Collections.sort(orphanedJobs, new Comparator<AbstractProject<?, ?>>() {
-            public int compare(AbstractProject<?, ?> o1, AbstractProject<?, ?> o2) {
-                return o1.getName().compareTo(o2.getName());
-            }
-        });
-        return orphanedJobs;
+    /**
+     * Linked jobs of all nodes, computed in one pass, as NDJSON: one line per node.
+     * See README.md for the schema
+     */
+    @StaplerDispatchable
+    public HttpResponse doNodesReport() {
+        return new NodesReportWriter(new AllLinkedJobs().getJobsGroups());
     }
     
     /**
-     * @param label
-     * @return a non-null Node if this and only this node can run jobs configured with label
+     * Nodes, clouds and jobs matching a label expression, as JSON. See README.md for the schema
+     * @param expr label expression, e.g. linux &amp;&amp; !arm64
+     * @param offset number of nodes and jobs to skip
+     * @param limit maximum number of nodes and jobs to return
      */
-    private Node isSingleNode(Label label) {
-        Node node = null;
-        Jenkins jenkins = Jenkins.getInstance();
-        if (label.matches(jenkins)) {
-            node  = jenkins;
+    @StaplerDispatchable
+    public HttpResponse doQuery(@QueryParameter String expr, @QueryParameter String offset,
+            @QueryParameter String limit) {
+        try {
+            return new QueryJsonWriter(expr, offset, limit);
         }
-
-        Iterator<Node> i = jenkins.getNodes().iterator();
-        while (i.hasNext()) {
-            Node iNode = i.next();
-            if (label.matches(iNode)) {
-                if (node == null) {
-                    // that's the first node this job can run on
-                    // let's continue the loop
-                    node = iNode;
-                }
-                else {
-                    // this job can already run on one node
-                    // that's the second node, so we won't keep
-                    // track of it. Indicate it by setting node to null
-                    node = null;
-                    // and get out of the loop
-                    break;
-                }
-            }
+        catch (IllegalArgumentException e) {
+            return HttpResponses.errorJSON(e.getMessage());
         }
-        return node;
     }
     
-    // this function finds all jobs that can run on only one node
-    // because of labels (mis-)configuration, thus with a non-redundancy
-    // issue
-    public List<NodeData> getSingleNodeJobs() {
-        HashMap<Node, NodeData> tmpResult = new HashMap<Node, NodeData>();
-
-        for (AbstractProject<?, ?> job : Jenkins.getInstance().getAllItems(AbstractProject.class)) {
-            if (!(job instanceof TopLevelItem)) {
-                // consider only TopLevelItem - not 100% sure why, though...
-                continue;
-            }
-
-            // switch to a loop on job.getRelevantLabels() ?
-            // that would make it applicable for hudson.matrix.MatrixProject.
-            // On the other hand, maybe we could ignore MatrixProject and
-            // try to process hudson.matrix.MatrixConfiguration, which are NOT TopLevelItem
-            // but are apparently part of the getAllItems loop
-            Label jobLabel = job.getAssignedLabel();
-            if (jobLabel == null) {
-                // if job.getAssignedLabel is null then the job can run
-                // anywhere, so we're fine - that is, assuming there's more
-                // than one node/slave in the infra
-                continue;
-            }
-
-            Node node = isSingleNode(jobLabel);
-            // that fact that the job can run on a single-node
-            // is indicated by node being not null
-            if (node != null) {
-                if (!tmpResult.containsKey(node)) {
-                    tmpResult.put(node, new NodeData(node));
-                }
-                tmpResult.get(node).addJob(job);
-            }
-        }
-        
-        // then scan the list of triggered jobs
-        for (Map.Entry<Label, HashMap<AbstractProject<?, ?>, TriggeredJob>> entry : m_triggeredJobsByLabel.entrySet()) {
-            Node node = isSingleNode(entry.getKey());
-            if (node != null) {
-                if (!tmpResult.containsKey(node)) {
-                    tmpResult.put(node, new NodeData(node));
-                }
-                tmpResult.get(node).addTriggeredJobs(entry.getValue().values());
-            }
+    /**
+     * How jobs would be affected by changes of the labels of nodes, as JSON. Nothing is
+     * changed. See README.md for the syntax of the changes and the schema
+     * @param changes changes to simulate, one per line
+     */
+    @RequirePOST
+    @StaplerDispatchable
+    public HttpResponse doSimulate(@QueryParameter String changes) {
+        try {
+            return new SimulationJsonWriter(changes);
         }
-
-        // then scan the list of jobs using default value for their Label parameter
-        for (Map.Entry<Label, List<AbstractProject<?,?>>> entry : m_jobsByDefaultLabel.entrySet()) {
-            Node node = isSingleNode(entry.getKey());
-            if (node != null) {
-                if (!tmpResult.containsKey(node)) {
-                    tmpResult.put(node, new NodeData(node));
-                }
-                tmpResult.get(node).addJobsWithDefaultValue(entry.getValue());
-            }
+        catch (IllegalArgumentException e) {
+            return HttpResponses.errorJSON(e.getMessage());
         }
-
-        ArrayList<NodeData> result = new ArrayList<NodeData>(tmpResult.size());
-        result.addAll(tmpResult.values());
-        // sort list by node names
-        Collections.sort(result);
-        return result;
     }
     
     /**
-     * This function scans all jobs to find those that are
-     * using nodes' self labels
-     * @return a collection of NodeData
+     * Timings of each phase of the pages of this plugin, and size of this instance.
+     * See README.md for the schema
      */
-    public Collection<NodeData> getNodesData() {
-        HashMap<LabelAtom, NodeData> tmpResult = new HashMap<LabelAtom, NodeData>();
-        
-        // prefill the results with all nodes
-        tmpResult.put(Jenkins.getInstance().getSelfLabel(),
-                new NodeData(Jenkins.getInstance()));
-        for (Node node : Jenkins.getInstance().getNodes()) {
-            tmpResult.put(node.getSelfLabel(), new NodeData(node));
-        }
-        
-        // This loop is directly inspired from hudson.model.Label.getTiedJobs()
-        // Find all jobs that are using directly some nodes' self labels
-        for (AbstractProject<?, ?> job : Jenkins.getInstance().getAllItems(AbstractProject.class)) {
-            if (!(job instanceof TopLevelItem)) {
-                continue;
-            }
-            
-            Label assignedLabel = job.getAssignedLabel();
-            if (assignedLabel == null) {
-                continue;
-            }
-            
-            for (LabelAtom labelAtom : assignedLabel.listAtoms()) {
-                if (tmpResult.containsKey(labelAtom)) {
-                    // ok, this corresponds to a node's self label. Let's use it
-                    tmpResult.get(labelAtom).addJob(job);
-                }
-            }
-        }
-        
-        // then scan the list of triggered jobs
-        for (Map.Entry<Label, HashMap<AbstractProject<?, ?>, TriggeredJob>> entry : m_triggeredJobsByLabel.entrySet()) {
-            for (LabelAtom labelAtom : entry.getKey().listAtoms()) {
-                if (tmpResult.containsKey(labelAtom)) {
-                    tmpResult.get(labelAtom).addTriggeredJobs(entry.getValue().values());
-                }
-            }
-        }
+    @StaplerDispatchable
+    public HttpResponse doMetrics() {
+        Jenkins jenkins = Jenkins.getInstance();
+        jenkins.checkPermission(Jenkins.ADMINISTER);
         
-        // then browse list of jobs with default values for a Label parameter
-        for (Map.Entry<Label, List<AbstractProject<?,?>>> entry : m_jobsByDefaultLabel.entrySet()) {
-            for (LabelAtom labelAtom : entry.getKey().listAtoms()) {
-                if (tmpResult.containsKey(labelAtom)) {
-                    tmpResult.get(labelAtom).addJobsWithDefaultValue(entry.getValue());
-                }
-            }
-        }
+        JSONObject counts = new JSONObject();
+        counts.element("jobs", LabelJobsIndex.get().getJobsCount());
+        counts.element("labels", LabelJobsIndex.get().getLabels().size());
+        // do not forget master node
+        counts.element("nodes", jenkins.getNodes().size() + 1);
+        counts.element("clouds", jenkins.clouds.size());
         
-        ArrayList<NodeData> result = new ArrayList<NodeData>();
-        result.addAll(tmpResult.values());
-        // sort nodes alphabetically by display name
-        Collections.sort(result);
-        return result;
+        JSONObject result = new JSONObject();
+        result.element("counts", counts);
+        result.element("timings", PhaseTimings.get().toJSON());
+        return HttpResponses.okJSON(result);
     }
     
-    private void listNodeLabels(HashSet<LabelAtom> nodesSelfLabels,
-            HashMap<LabelAtom, LabelAtomData> result, Node node) {
-        // list only static labels, not dynamic labels nor the self-label
-        // so do not call Node.getAssignedLabels(), instead replicate here
-        // only the interesting part of this function, which is the Label.parse(getLabelString()) call
-        for (LabelAtom label : Label.parse(node.getLabelString())) {
-            if (nodesSelfLabels.contains(label)) {
-                // skip label that corresponds to a node name
-                // see getNodesData()
-                continue;
-            }
-            if (!result.containsKey(label)) {
-                result.put(label, new LabelAtomData(label));
-            }
-            result.get(label).add(node);
+    /**
+     * JENKINS-25188 - Orphaned jobs do not show jobs without label when all nodes set to Label restrictions
+     * This function scans all nodes to determine if at least one is in non-exclusive mode,
+     * meaning it can be used to run jobs with no labels.
+     * If there is no such node, jobs without labels can't be run at all
+     * @return true only if all nodes are set to Mode.EXCLUSIVE
+     */
+    public static boolean getOnlyExclusiveNodes() {
+        Jenkins jenkins = Jenkins.getInstance();
+        if (!Node.Mode.EXCLUSIVE.equals(jenkins.getMode())) {
+            return false;
         }
-    }
-
-    private void listCloudTemplateLabels(HashMap<LabelAtom, LabelAtomData> result) {
-        //Listing all available labels so that later the cloud template related lables can be picked from them
-        for (Label label : Jenkins.getInstance().getLabels()) {
-            if (label.getClouds().size() > 0) {
-                for (LabelAtom labelAtom : label.listAtoms()) {
-                    if (!result.containsKey(labelAtom)) {
-                        result.put(labelAtom, new LabelAtomData(labelAtom));
-                    }
-                }
+        Iterator<Node> i = jenkins.getNodes().iterator();
+        while (i.hasNext()) {
+            if (!Node.Mode.EXCLUSIVE.equals(i.next().getMode())) {
+                return false;
             }
         }
+        return true;
     }
 }
\ No newline at end of file
@@ -25,11 +25,13 @@
 package jenkins.plugins.linkedjobs.actions;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 
-import jenkins.model.Jenkins;
+import jenkins.plugins.linkedjobs.helpers.CloudProvisioningCache;
+import jenkins.plugins.linkedjobs.helpers.LabelJobsIndex;
 import jenkins.plugins.linkedjobs.model.JobsGroup;
 import hudson.model.Label;
 import hudson.model.labels.LabelAtom;
@@ -68,13 +70,7 @@ public class LabelLinkedJobsAction extends AbstractLinkedJobsAction {
     
     // clouds that can provision this atomic label
     public List<Cloud> getProvisioningClouds() {
-        List<Cloud> provisioningClouds = new ArrayList<Cloud>();
-        for (Cloud c : Jenkins.getInstance().clouds) {
-            if (c.canProvision(label)) {
-                provisioningClouds.add(c);
-            }
-        }
-        return provisioningClouds;
+        return CloudProvisioningCache.get().getProvisioningClouds(label);
     }
     
     // util function, because List doesn't have a function
@@ -111,6 +107,13 @@ public class LabelLinkedJobsAction extends AbstractLinkedJobsAction {
         return result;
     }
     
+    // only the labels using this atom, from the inverted index of LabelJobsIndex,
+    // instead of testing every label
+    @Override
+    protected Collection<Label> getCandidateLabels(LabelJobsIndex index) {
+        return index.getLabels(label);
+    }
+    
     protected boolean isLabelRelevant(Label jobLabel) {
         // condition for a job to be listed is simply to use the label,
         // regardless of the actual meaning of the expression
@@ -0,0 +1,79 @@
+/*
+ * The MIT License
+ * 
+ * Copyright (C) 2026 Dominique Brice
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is furnished
+ * to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package jenkins.plugins.linkedjobs.extensions;
+
+import java.util.Collections;
+
+import hudson.Extension;
+import hudson.XmlFile;
+import hudson.model.Item;
+import hudson.model.ItemGroup;
+import hudson.model.Saveable;
+import hudson.model.labels.LabelAtom;
+import hudson.model.listeners.SaveableListener;
+import jenkins.model.Jenkins;
+import jenkins.plugins.linkedjobs.helpers.ChangeLog;
+import jenkins.plugins.linkedjobs.helpers.PermissionFilter;
+import jenkins.plugins.linkedjobs.settings.GlobalSettings;
+
+/**
+ * The role of this extension is to record in {@link ChangeLog} the changes that are not
+ * made through the indexes of this plugin: the configuration of labels, items, clouds,
+ * and of this plugin. Permissions cached by {@link PermissionFilter} are dropped when
+ * the configuration of an item, of a folder or the security configuration may have
+ * changed them.
+ */
+@Extension
+public class ChangeLogListener extends SaveableListener {
+
+    @Override
+    public void onChange(Saveable o, XmlFile file) {
+        if (o instanceof LabelAtom) {
+            // description, or Linked Jobs page activation
+            ChangeLog.get().labelsChanged(Collections.singleton((LabelAtom) o));
+        }
+        else if (o instanceof Item) {
+            // permissions or display name
+            if (o instanceof ItemGroup) {
+                // the permissions of a folder also apply to the items it contains
+                PermissionFilter.invalidate();
+            }
+            else {
+                PermissionFilter.forget((Item) o);
+            }
+            ChangeLog.get().itemChanged();
+        }
+        else if (o instanceof Jenkins) {
+            // the authorization strategy may have been changed, or the
+            // clouds, and they can provision any label
+            PermissionFilter.invalidate();
+            ChangeLog.get().reset();
+        }
+        else if (o instanceof GlobalSettings) {
+            // pages are displayed differently
+            ChangeLog.get().reset();
+        }
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * The MIT License
+ * 
+ * Copyright (C) 2026 Dominique Brice
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is furnished
+ * to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package jenkins.plugins.linkedjobs.extensions;
+
+import hudson.Extension;
+import hudson.model.AsyncPeriodicWork;
+import hudson.model.TaskListener;
+import jenkins.plugins.linkedjobs.helpers.DashboardSnapshotProvider;
+
+/**
+ * The role of this extension is to compute again, in the background, the Labels Dashboard
+ * snapshots that are older than the refresh interval set in the global configuration.
+ * It runs every minute, so that changes of this interval are taken into account without
+ * restarting Jenkins. Computing the snapshots also keeps the indexes used by the
+ * Linked Jobs pages up to date.
+ */
+@Extension
+public class DashboardRefreshWork extends AsyncPeriodicWork {
+
+    public DashboardRefreshWork() {
+        super("Labels Dashboard refresh");
+    }
+
+    @Override
+    public long getRecurrencePeriod() {
+        return MIN;
+    }
+
+    @Override
+    protected void execute(TaskListener listener) {
+        DashboardSnapshotProvider.get().refreshAll();
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * The MIT License
+ * 
+ * Copyright (C) 2026 Dominique Brice
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is furnished
+ * to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package jenkins.plugins.linkedjobs.extensions;
+
+import hudson.init.InitMilestone;
+import hudson.init.Initializer;
+import hudson.security.ACL;
+import hudson.security.ACLContext;
+import hudson.util.DaemonThreadFactory;
+import hudson.util.NamingThreadFactory;
+
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import jenkins.model.Jenkins;
+import jenkins.plugins.linkedjobs.helpers.LabelJobsIndex;
+import jenkins.plugins.linkedjobs.helpers.NodeMatchCache;
+import jenkins.plugins.linkedjobs.helpers.TriggeredJobsHelper;
+
+/**
+ * The role of this class is to build the indexes of this plugin right after all jobs are
+ * loaded at startup, so that the first visit of the Labels Dashboard or of a Linked Jobs
+ * page doesn't have to wait for them.
+ * <p>
+ * Indexes are built on a dedicated daemon thread of minimum priority: startup goes on
+ * without waiting for them, and neither the shared Timer pool of Jenkins nor the threads
+ * serving requests are slowed down by them.
+ */
+public class IndexesWarmUp {
+
+    private static final Logger LOGGER = Logger.getLogger(IndexesWarmUp.class.getName());
+
+    // the Jenkins instance whose indexes were built by the last warm-up, until
+    // JobsIndexListener.onLoaded() is called for it
+    private static final AtomicReference<WeakReference<Jenkins>> WARMED_UP =
+            new AtomicReference<WeakReference<Jenkins>>();
+    // the last warm-up started
+    private static volatile Future<?> lastWarmUp;
+    // one thread at most, which ends once idle
+    private static final ExecutorService EXECUTOR;
+    static {
+        final ThreadFactory factory = new NamingThreadFactory(new DaemonThreadFactory(), "Label Linked Jobs indexes warm-up");
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 10, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+                    public Thread newThread(Runnable r) {
+                        Thread thread = factory.newThread(r);
+                        thread.setPriority(Thread.MIN_PRIORITY);
+                        return thread;
+                    }
+                });
+        executor.allowCoreThreadTimeOut(true);
+        EXECUTOR = executor;
+    }
+
+    private IndexesWarmUp() {
+    }
+
+    @Initializer(after = InitMilestone.JOB_LOADED, fatal = false)
+    public static void warmUp() {
+        final Jenkins jenkins = Jenkins.getInstance();
+        // indexes may still hold jobs of a previous instance, e.g. in tests
+        LabelJobsIndex.get().invalidate();
+        TriggeredJobsHelper.invalidate();
+        NodeMatchCache.get().invalidate();
+        WARMED_UP.set(new WeakReference<Jenkins>(jenkins));
+
+        lastWarmUp = EXECUTOR.submit(new Runnable() {
+            public void run() {
+                try (ACLContext ctx = ACL.as(ACL.SYSTEM)) {
+                    LabelJobsIndex.get().load();
+                    TriggeredJobsHelper.load();
+                    NodeMatchCache.get().load();
+                }
+                catch (RuntimeException e) {
+                    // indexes will be built the first time they are needed
+                    LOGGER.log(Level.WARNING, "Failed to build the Label Linked Jobs indexes", e);
+                }
+            }
+        });
+    }
+
+    // for tests
+    static Future<?> getLastWarmUp() {
+        return lastWarmUp;
+    }
+
+    /**
+     * Jenkins calls ItemListener.onLoaded() once all items are loaded at startup, after
+     * all initializers, and again when items are reloaded from disk.
+     * @return true the first time it's called for the instance whose indexes were built
+     * by the warm-up, which doesn't need to drop them then
+     */
+    static boolean isStartupLoad(Jenkins jenkins) {
+        WeakReference<Jenkins> warmedUp = WARMED_UP.getAndSet(null);
+        return warmedUp != null && warmedUp.get() == jenkins;
+    }
+}
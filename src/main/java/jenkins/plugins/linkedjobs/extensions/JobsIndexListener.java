@@ -0,0 +1,102 @@
+/*
+ * The MIT License
+ * 
+ * Copyright (C) 2026 Dominique Brice
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is furnished
+ * to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package jenkins.plugins.linkedjobs.extensions;
+
+import hudson.Extension;
+import hudson.XmlFile;
+import hudson.model.Item;
+import hudson.model.Saveable;
+import hudson.model.listeners.ItemListener;
+import hudson.model.listeners.SaveableListener;
+import jenkins.model.Jenkins;
+import jenkins.plugins.linkedjobs.helpers.LabelJobsIndex;
+import jenkins.plugins.linkedjobs.helpers.PermissionFilter;
+import jenkins.plugins.linkedjobs.helpers.TriggeredJobsHelper;
+
+/**
+ * The role of this extension is to keep {@link LabelJobsIndex} and the graph of triggered
+ * jobs of {@link TriggeredJobsHelper} up to date when jobs are created, updated, renamed or deleted.
+ */
+@Extension
+public class JobsIndexListener extends ItemListener {
+
+    @Override
+    public void onLoaded() {
+        if (IndexesWarmUp.isStartupLoad(Jenkins.getInstance())) {
+            // end of startup, indexes were built by the warm-up once all items were loaded
+            return;
+        }
+        // all items have been reloaded from disk, the index
+        // is rebuilt the next time it's needed
+        LabelJobsIndex.get().invalidate();
+        TriggeredJobsHelper.invalidate();
+        PermissionFilter.invalidate();
+    }
+
+    @Override
+    public void onCreated(Item item) {
+        LabelJobsIndex.get().add(item);
+        TriggeredJobsHelper.jobCreated(item);
+    }
+
+    @Override
+    public void onCopied(Item src, Item item) {
+        LabelJobsIndex.get().add(item);
+        TriggeredJobsHelper.jobCreated(item);
+    }
+
+    @Override
+    public void onLocationChanged(Item item, String oldFullName, String newFullName) {
+        LabelJobsIndex.get().rename(item, oldFullName);
+        TriggeredJobsHelper.jobRenamed(item, oldFullName);
+        // moved jobs inherit the permissions of their new folder
+        PermissionFilter.invalidate();
+    }
+
+    @Override
+    public void onDeleted(Item item) {
+        LabelJobsIndex.get().remove(item);
+        TriggeredJobsHelper.jobDeleted(item);
+        // do not keep deleted items
+        PermissionFilter.invalidate();
+    }
+
+    /**
+     * Job configuration is saved by the configuration page, but also by
+     * AbstractProject.setAssignedLabel() or the REST API for instance: listen to all
+     * saves, instead of onUpdated() which is only fired by some of them, along with a save
+     */
+    @Extension
+    public static final class JobsConfigListener extends SaveableListener {
+
+        @Override
+        public void onChange(Saveable o, XmlFile file) {
+            if (o instanceof Item) {
+                LabelJobsIndex.get().update((Item) o);
+                TriggeredJobsHelper.jobUpdated((Item) o);
+            }
+        }
+    }
+}
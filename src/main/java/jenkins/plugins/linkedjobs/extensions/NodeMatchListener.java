@@ -0,0 +1,109 @@
+/*
+ * The MIT License
+ * 
+ * Copyright (C) 2026 Dominique Brice
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is furnished
+ * to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package jenkins.plugins.linkedjobs.extensions;
+
+import java.io.IOException;
+
+import hudson.Extension;
+import hudson.XmlFile;
+import hudson.model.Computer;
+import hudson.model.Node;
+import hudson.model.Saveable;
+import hudson.model.TaskListener;
+import hudson.model.listeners.SaveableListener;
+import hudson.slaves.ComputerListener;
+import hudson.slaves.OfflineCause;
+import jenkins.model.Jenkins;
+import jenkins.model.NodeListener;
+import jenkins.plugins.linkedjobs.helpers.NodeMatchCache;
+
+/**
+ * The role of this extension is to keep {@link NodeMatchCache} up to date
+ * when nodes are added, removed, reconfigured, or go online or offline.
+ */
+@Extension
+public class NodeMatchListener extends ComputerListener {
+
+    @Override
+    public void onConfigurationChange() {
+        // called whenever the list of nodes is updated
+        NodeMatchCache.get().refresh();
+    }
+
+    @Override
+    public void onOnline(Computer c, TaskListener listener) throws IOException, InterruptedException {
+        // dynamic labels may only be known once the computer is online
+        NodeMatchCache.get().refresh();
+        NodeMatchCache.get().computerStatusChanged(c);
+    }
+
+    @Override
+    public void onOffline(Computer c, OfflineCause cause) {
+        NodeMatchCache.get().computerStatusChanged(c);
+    }
+
+    @Override
+    public void onTemporarilyOnline(Computer c) {
+        NodeMatchCache.get().computerStatusChanged(c);
+    }
+
+    @Override
+    public void onTemporarilyOffline(Computer c, OfflineCause cause) {
+        NodeMatchCache.get().computerStatusChanged(c);
+    }
+
+    @Extension
+    public static final class NodeChangesListener extends NodeListener {
+
+        @Override
+        protected void onCreated(Node node) {
+            NodeMatchCache.get().refresh();
+        }
+
+        @Override
+        protected void onUpdated(Node oldOne, Node newOne) {
+            NodeMatchCache.get().refresh();
+        }
+
+        @Override
+        protected void onDeleted(Node node) {
+            NodeMatchCache.get().refresh();
+        }
+    }
+
+    /**
+     * Labels of the master node are saved with the global configuration
+     */
+    @Extension
+    public static final class MasterConfigListener extends SaveableListener {
+
+        @Override
+        public void onChange(Saveable o, XmlFile file) {
+            if (o instanceof Jenkins) {
+                NodeMatchCache.get().refresh();
+            }
+        }
+    }
+}
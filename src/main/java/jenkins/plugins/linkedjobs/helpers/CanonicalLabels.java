@@ -0,0 +1,165 @@
+/*
+ * The MIT License
+ * 
+ * Copyright (C) 2026 Dominique Brice
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is furnished
+ * to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package jenkins.plugins.linkedjobs.helpers;
+
+import hudson.model.Label;
+import hudson.model.labels.LabelAtom;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import antlr.ANTLRException;
+
+/**
+ * Cache of the {@link LabelProgram} of each label, shared by equivalent labels.
+ * <p>
+ * Jobs configured with "linux&amp;&amp;x64" and "x64&amp;&amp;linux" can run on the same
+ * nodes: both labels are replaced by the same canonical label when jobs are grouped by
+ * label, so that they end up in the same group, and share the same compiled program,
+ * so that their nodes are computed only once.
+ * <p>
+ * Only the most recently used labels are kept, and {@link LabelJobsIndex} drops the labels
+ * no job uses anymore, so that labels of deleted jobs or of one-off expressions don't pile up.
+ */
+public class CanonicalLabels {
+
+    // above this, the least recently used entries are dropped and computed again when needed
+    static final int MAX_ENTRIES = 10000;
+
+    // programs by canonical key, so that equivalent labels share the same one
+    private static final Map<String, Entry> ENTRIES_BY_KEY = newLruMap();
+    private static final Map<Label, Entry> ENTRIES_BY_LABEL = newLruMap();
+
+    private CanonicalLabels() {
+    }
+
+    /**
+     * @return the label to use in place of label when grouping jobs: the same for all
+     * equivalent labels, and label itself if it is an atom
+     */
+    public static Label canonical(Label label) {
+        if (label == null || label instanceof LabelAtom) {
+            return label;
+        }
+        Entry entry = getEntry(label);
+        return entry == null ? label : entry.label;
+    }
+
+    /**
+     * @return the compiled program of this label, or null if it can't be compiled
+     */
+    public static LabelProgram program(Label label) {
+        Entry entry = getEntry(label);
+        return entry == null ? null : entry.program;
+    }
+
+    /**
+     * Drop what is known about this label and its equivalent labels, when no job uses it anymore
+     */
+    static void forget(Label label) {
+        Entry entry = ENTRIES_BY_LABEL.remove(label);
+        if (entry != null) {
+            ENTRIES_BY_KEY.remove(entry.program.getKey());
+        }
+    }
+
+    /**
+     * Drop all entries, for instance when all items have been reloaded from disk
+     */
+    static void clear() {
+        ENTRIES_BY_LABEL.clear();
+        ENTRIES_BY_KEY.clear();
+    }
+
+    // number of labels known, for tests
+    static int size() {
+        return ENTRIES_BY_LABEL.size();
+    }
+
+    static boolean contains(Label label) {
+        return ENTRIES_BY_LABEL.containsKey(label);
+    }
+
+    private static Entry getEntry(Label label) {
+        Entry entry = ENTRIES_BY_LABEL.get(label);
+        if (entry != null) {
+            return entry;
+        }
+        LabelProgram program;
+        try {
+            program = LabelProgram.compile(label);
+        }
+        catch (RuntimeException e) {
+            // not a label expression known by this plugin
+            return null;
+        }
+        entry = ENTRIES_BY_KEY.get(program.getKey());
+        if (entry == null) {
+            Entry newEntry = new Entry(toLabel(label, program), program);
+            entry = ENTRIES_BY_KEY.putIfAbsent(program.getKey(), newEntry);
+            if (entry == null) {
+                entry = newEntry;
+            }
+        }
+        ENTRIES_BY_LABEL.put(label, entry);
+        return entry;
+    }
+
+    // the label of the canonical form, which doesn't depend on which equivalent label came first
+    private static Label toLabel(Label label, LabelProgram program) {
+        if (program.getKey().equals(label.getExpression())) {
+            return label;
+        }
+        try {
+            // not through Jenkins.getLabel(): this label is only kept as long as its entry
+            return Label.parseExpression(program.getKey());
+        }
+        catch (ANTLRException e) {
+            return label;
+        }
+    }
+
+    private static <K> Map<K, Entry> newLruMap() {
+        return Collections.synchronizedMap(new LinkedHashMap<K, Entry>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry> eldest) {
+                return size() > MAX_ENTRIES;
+            }
+        });
+    }
+
+    private static final class Entry {
+        final Label label;
+        final LabelProgram program;
+
+        Entry(Label label, LabelProgram program) {
+            this.label = label;
+            this.program = program;
+        }
+    }
+}
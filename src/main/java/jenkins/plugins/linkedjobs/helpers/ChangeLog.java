@@ -0,0 +1,256 @@
+/*
+ * The MIT License
+ * 
+ * Copyright (C) 2026 Dominique Brice
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is furnished
+ * to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package jenkins.plugins.linkedjobs.helpers;
+
+import hudson.model.AbstractProject;
+import hudson.model.Label;
+import hudson.model.labels.LabelAtom;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Numbered log of the changes made to the indexes of this plugin, used by
+ * labelsdashboard/delta to only return what changed since a given generation.
+ * <p>
+ * Each change increments the generation. Only the last {@link #CAPACITY} changes are kept:
+ * when older ones are requested, or after a change that can't be tracked precisely, such
+ * as a reload of all items or a change of the clouds, clients have to fetch everything again.
+ */
+public class ChangeLog {
+
+    static final int CAPACITY = 8192;
+
+    private static final ChangeLog INSTANCE = new ChangeLog();
+
+    // ring buffer, change of generation g in slot g % CAPACITY
+    private final Change[] changes = new Change[CAPACITY];
+    // generations start at the current time, so that after a restart they are
+    // greater than any generation returned before, and old clients are reset
+    private long generation = System.currentTimeMillis();
+    // changes up to this generation are not known anymore
+    private long floor = generation;
+
+    public static ChangeLog get() {
+        return INSTANCE;
+    }
+
+    public synchronized long getGeneration() {
+        return generation;
+    }
+
+    // a job was added, changed its label, or was renamed (then oldFullName is not null)
+    synchronized void jobChanged(AbstractProject<?, ?> job, Label oldLabel, Label newLabel, String oldFullName) {
+        Change change = new Change();
+        change.job = job;
+        change.jobName = job.getFullName();
+        change.label = newLabel;
+        addAtoms(change, oldLabel);
+        addAtoms(change, newLabel);
+        if (oldFullName != null) {
+            Change removal = new Change();
+            removal.job = job;
+            removal.jobName = oldFullName;
+            removal.removed = true;
+            add(removal);
+        }
+        add(change);
+    }
+
+    synchronized void jobRemoved(AbstractProject<?, ?> job, String fullName, Label oldLabel) {
+        Change change = new Change();
+        change.job = job;
+        change.jobName = fullName;
+        change.removed = true;
+        addAtoms(change, oldLabel);
+        add(change);
+    }
+
+    /**
+     * @param newAtoms labels of the node, null if it was removed
+     */
+    synchronized void nodeChanged(String nodeName, Set<LabelAtom> oldAtoms, Set<LabelAtom> newAtoms) {
+        Change change = new Change();
+        change.nodeName = nodeName;
+        change.nodeAtoms = newAtoms;
+        change.removed = newAtoms == null;
+        addAtoms(change, oldAtoms);
+        addAtoms(change, newAtoms);
+        add(change);
+    }
+
+    // the data of these labels changed, e.g. jobs triggered with them
+    public synchronized void labelsChanged(Collection<? extends Label> labels) {
+        Change change = new Change();
+        for (Label label : labels) {
+            addAtoms(change, label);
+        }
+        if (!change.atoms.isEmpty()) {
+            add(change);
+        }
+    }
+
+    /**
+     * Something that doesn't change any label may have changed what the pages of this
+     * plugin show, e.g. who can see a job, or its display name
+     */
+    public synchronized void itemChanged() {
+        add(new Change());
+    }
+
+    /**
+     * Anything may have changed: clients asking for changes up to now have to
+     * fetch everything again
+     */
+    public synchronized void reset() {
+        generation++;
+        floor = generation;
+    }
+
+    /**
+     * @param since generation known by the client
+     * @param until last generation to take into account
+     * @return the changes after since, up to until, or null if they are not all known
+     */
+    public synchronized Delta getDelta(long since, long until) {
+        if (since < floor || since > generation) {
+            return null;
+        }
+        Delta delta = new Delta();
+        for (long g = since + 1; g <= Math.min(until, generation); g++) {
+            delta.add(changes[(int) (g % CAPACITY)]);
+        }
+        return delta;
+    }
+
+    private void add(Change change) {
+        generation++;
+        int slot = (int) (generation % CAPACITY);
+        if (changes[slot] != null) {
+            // overwritten
+            floor = Math.max(floor, changes[slot].generation);
+        }
+        change.generation = generation;
+        changes[slot] = change;
+    }
+
+    private static void addAtoms(Change change, Label label) {
+        if (label != null) {
+            for (LabelAtom atom : label.listAtoms()) {
+                change.atoms.add(atom.getName());
+            }
+        }
+    }
+
+    private static void addAtoms(Change change, Set<LabelAtom> atoms) {
+        if (atoms != null) {
+            for (LabelAtom atom : atoms) {
+                change.atoms.add(atom.getName());
+            }
+        }
+    }
+
+    private static final class Change {
+        long generation;
+        // job changes
+        AbstractProject<?, ?> job;
+        String jobName;
+        Label label;
+        // node changes
+        String nodeName;
+        Set<LabelAtom> nodeAtoms;
+        boolean removed;
+        // names of the label atoms whose data may have changed
+        final Set<String> atoms = new HashSet<String>();
+    }
+
+    /**
+     * The last state of each job and node that changed, and the labels that may have changed
+     */
+    public static final class Delta {
+        // last change of each job, by full name
+        private final LinkedHashMap<String, Change> jobs = new LinkedHashMap<String, Change>();
+        // by name, null for removed nodes
+        private final LinkedHashMap<String, Set<LabelAtom>> nodes = new LinkedHashMap<String, Set<LabelAtom>>();
+        private final TreeSet<String> labels = new TreeSet<String>();
+
+        private void add(Change change) {
+            labels.addAll(change.atoms);
+            if (change.jobName != null) {
+                // last change wins
+                jobs.remove(change.jobName);
+                jobs.put(change.jobName, change);
+            }
+            if (change.nodeName != null) {
+                nodes.remove(change.nodeName);
+                nodes.put(change.nodeName, change.nodeAtoms);
+            }
+        }
+
+        // names of the label atoms whose data may have changed, sorted
+        public Set<String> getLabels() {
+            return labels;
+        }
+
+        // labels of the nodes that changed, by node name, null for removed nodes
+        public Map<String, Set<LabelAtom>> getNodes() {
+            return nodes;
+        }
+
+        // jobs added or changed, by full name
+        public Map<String, AbstractProject<?, ?>> getJobs() {
+            LinkedHashMap<String, AbstractProject<?, ?>> result = new LinkedHashMap<String, AbstractProject<?, ?>>();
+            for (Map.Entry<String, Change> entry : jobs.entrySet()) {
+                if (!entry.getValue().removed) {
+                    result.put(entry.getKey(), entry.getValue().job);
+                }
+            }
+            return result;
+        }
+
+        /**
+         * @return the label of this job, as of the last change
+         */
+        public Label getJobLabel(String fullName) {
+            Change change = jobs.get(fullName);
+            return change == null ? null : change.label;
+        }
+
+        // full names of the jobs removed, or renamed, along with the job
+        public Map<String, AbstractProject<?, ?>> getRemovedJobs() {
+            LinkedHashMap<String, AbstractProject<?, ?>> result = new LinkedHashMap<String, AbstractProject<?, ?>>();
+            for (Map.Entry<String, Change> entry : jobs.entrySet()) {
+                if (entry.getValue().removed) {
+                    result.put(entry.getKey(), entry.getValue().job);
+                }
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * The MIT License
+ * 
+ * Copyright (C) 2026 Dominique Brice
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is furnished
+ * to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package jenkins.plugins.linkedjobs.helpers;
+
+import hudson.model.Label;
+import hudson.slaves.Cloud;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+
+import jenkins.model.Jenkins;
+
+/**
+ * Cache of the Cloud.canProvision(label) results, shared by all pages of this plugin.
+ * <p>
+ * Some cloud implementations do expensive template matching in canProvision, so each
+ * (cloud, label) pair is evaluated only once. Results are kept per cloud instance: clouds
+ * are created again when the global configuration is submitted, so results of clouds
+ * that were removed or reconfigured are dropped the next time the cache is read.
+ * {@link jenkins.plugins.linkedjobs.extensions.CloudsConfigListener} also drops all results
+ * when the global configuration is saved, for clouds that are modified in place.
+ * <p>
+ * canProvision is called without holding the lock of the cache, so that a slow cloud
+ * doesn't block the pages that only need cached results.
+ */
+public class CloudProvisioningCache {
+
+    private static final CloudProvisioningCache INSTANCE = new CloudProvisioningCache();
+
+    // clouds don't override equals(), so compare instances
+    private final IdentityHashMap<Cloud, HashMap<Label, Boolean>> resultsByCloud =
+            new IdentityHashMap<Cloud, HashMap<Label, Boolean>>();
+    // incremented by invalidate(), so that results computed before are not cached
+    private long generation = 0;
+
+    public static CloudProvisioningCache get() {
+        return INSTANCE;
+    }
+
+    /**
+     * @param label the label to test
+     * @return the clouds that can provision this label, in the order of Jenkins.clouds
+     */
+    public List<Cloud> getProvisioningClouds(Label label) {
+        List<Cloud> result = new ArrayList<Cloud>();
+        for (Cloud c : currentClouds()) {
+            if (canProvision(c, label)) {
+                result.add(c);
+            }
+        }
+        return result;
+    }
+
+    public int getProvisioningCloudsCount(Label label) {
+        int result = 0;
+        for (Cloud c : currentClouds()) {
+            if (canProvision(c, label)) {
+                result++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @param label the label to test
+     * @return true if at least one cloud can provision this label
+     */
+    public boolean canProvision(Label label) {
+        for (Cloud c : currentClouds()) {
+            if (canProvision(c, label)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Drop all cached results, they will be computed again when requested
+     */
+    public synchronized void invalidate() {
+        resultsByCloud.clear();
+        generation++;
+    }
+
+    // number of results cached, for tests
+    synchronized int size() {
+        int size = 0;
+        for (HashMap<Label, Boolean> results : resultsByCloud.values()) {
+            size += results.size();
+        }
+        return size;
+    }
+
+    // current clouds, after dropping the results of the clouds that are gone
+    private synchronized List<Cloud> currentClouds() {
+        List<Cloud> clouds = new ArrayList<Cloud>(Jenkins.getInstance().clouds);
+        if (resultsByCloud.size() > clouds.size() || !resultsByCloud.keySet().containsAll(clouds)) {
+            IdentityHashMap<Cloud, Boolean> current = new IdentityHashMap<Cloud, Boolean>();
+            for (Cloud c : clouds) {
+                current.put(c, Boolean.TRUE);
+            }
+            for (Iterator<Cloud> i = resultsByCloud.keySet().iterator(); i.hasNext();) {
+                if (!current.containsKey(i.next())) {
+                    i.remove();
+                }
+            }
+        }
+        return clouds;
+    }
+
+    private boolean canProvision(Cloud c, Label label) {
+        long computedGeneration;
+        synchronized (this) {
+            HashMap<Label, Boolean> results = resultsByCloud.get(c);
+            Boolean result = results == null ? null : results.get(label);
+            if (result != null) {
+                return result;
+            }
+            computedGeneration = generation;
+        }
+        // outside the lock: two threads may compute the same result, which is harmless
+        boolean result = c.canProvision(label);
+        synchronized (this) {
+            if (computedGeneration == generation) {
+                HashMap<Label, Boolean> results = resultsByCloud.get(c);
+                if (results == null) {
+                    results = new HashMap<Label, Boolean>();
+                    resultsByCloud.put(c, results);
+                }
+                results.put(label, result);
+            }
+        }
+        return result;
+    }
+}
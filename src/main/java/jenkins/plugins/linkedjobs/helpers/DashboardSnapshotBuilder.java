@@ -0,0 +1,420 @@
+/*
+ * The MIT License
+ * 
+ * Copyright (C) 2026 Dominique Brice
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is furnished
+ * to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package jenkins.plugins.linkedjobs.helpers;
+
+import hudson.model.AbstractProject;
+import hudson.model.Label;
+import hudson.model.Node;
+import hudson.model.labels.LabelAtom;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import jenkins.model.Jenkins;
+import jenkins.plugins.linkedjobs.helpers.PhaseTimings.Phase;
+import jenkins.plugins.linkedjobs.model.AbstractJobsGroup;
+import jenkins.plugins.linkedjobs.model.DashboardSnapshot;
+import jenkins.plugins.linkedjobs.model.LabelAtomData;
+import jenkins.plugins.linkedjobs.model.NodeBlastRadius;
+import jenkins.plugins.linkedjobs.model.NodeData;
+import jenkins.plugins.linkedjobs.model.TriggeredJob;
+import jenkins.plugins.linkedjobs.model.UnderRedundantLabel;
+import jenkins.plugins.linkedjobs.settings.GlobalSettings;
+
+/**
+ * Computes all sections of the Labels Dashboard at once.
+ * <p>
+ * Nodes, jobs, triggered jobs, jobs with a Label parameter and clouds are each browsed
+ * only once, and each distinct label is analyzed only once (atoms, matching nodes,
+ * provisioning clouds) even when it is used by several of them. The result is
+ * an immutable {@link DashboardSnapshot}.
+ */
+public class DashboardSnapshotBuilder {
+
+    private static final Comparator<AbstractProject<?, ?>> JOB_NAME_ORDER = new Comparator<AbstractProject<?, ?>>() {
+        public int compare(AbstractProject<?, ?> o1, AbstractProject<?, ?> o2) {
+            return o1.getName().compareTo(o2.getName());
+        }
+    };
+
+    // what the dashboard needs to know about each label, whatever uses it
+    private static final class LabelInfo {
+        final Set<LabelAtom> atoms;
+        // no node nor cloud can run jobs with this label
+        final boolean orphaned;
+        // non-null if this and only this node can run jobs with this label
+        final Node singleNode;
+        // non-null if jobs with this label would be orphaned without this node
+        final Node lastNode;
+        // non-null if exactly two nodes can run jobs with this label: without one
+        // of them, they would be single-node jobs
+        final List<Node> lastTwoNodes;
+        // non-null if this label matches fewer online nodes than the minimum redundancy
+        final UnderRedundantLabel underRedundant;
+
+        LabelInfo(Set<LabelAtom> atoms, boolean orphaned, Node singleNode, Node lastNode, List<Node> lastTwoNodes,
+                UnderRedundantLabel underRedundant) {
+            this.atoms = atoms;
+            this.orphaned = orphaned;
+            this.singleNode = singleNode;
+            this.lastNode = lastNode;
+            this.lastTwoNodes = lastTwoNodes;
+            this.underRedundant = underRedundant;
+        }
+    }
+
+    private final Jenkins jenkins = Jenkins.getInstance();
+    private final PhaseTimings.Timer timer = PhaseTimings.get().newTimer(PhaseTimings.DASHBOARD);
+    private final HashMap<Label, LabelInfo> labelInfos = new HashMap<Label, LabelInfo>();
+
+    // nodes' self labels are listed in the Nodes section, not in the Labels section
+    private final HashSet<LabelAtom> nodesSelfLabels = new HashSet<LabelAtom>();
+    private final HashMap<LabelAtom, LabelAtomData> labelsData = new HashMap<LabelAtom, LabelAtomData>();
+    private final HashMap<LabelAtom, NodeData> nodesData = new HashMap<LabelAtom, NodeData>();
+    private final HashMap<Node, NodeData> singleNodeJobs = new HashMap<Node, NodeData>();
+    private final HashMap<Node, NodeBlastRadius> blastRadius = new HashMap<Node, NodeBlastRadius>();
+    private final ArrayList<UnderRedundantLabel> underRedundantLabels = new ArrayList<UnderRedundantLabel>();
+    // see GlobalSettings
+    private final int minimumRedundancy;
+    private final boolean countClouds;
+    private final ArrayList<AbstractProject<?, ?>> orphanedJobs = new ArrayList<AbstractProject<?, ?>>();
+    private final ArrayList<TriggeredJob> orphanedTriggeredJobs = new ArrayList<TriggeredJob>();
+    private final LinkedHashSet<AbstractProject<?, ?>> orphanedDefaultValueJobs = new LinkedHashSet<AbstractProject<?, ?>>();
+    private List<AbstractProject<?, ?>> jobsWithNoLabels;
+    private boolean onlyExclusiveNodes;
+
+    private DashboardSnapshotBuilder() {
+        GlobalSettings settings = GlobalSettings.get();
+        minimumRedundancy = settings == null ? 0 : settings.getMinimumRedundancy();
+        countClouds = settings != null && settings.getCountClouds();
+    }
+
+    public static DashboardSnapshot build() {
+        return new DashboardSnapshotBuilder().doBuild();
+    }
+
+    private DashboardSnapshot doBuild() {
+        // indexes built from scratch reset ChangeLog, so build them before reading
+        // the generation this snapshot corresponds to
+        timer.start(Phase.ITEM_SCAN);
+        LabelJobsIndex.get().load();
+        timer.stop();
+        timer.start(Phase.TRIGGER_SCAN);
+        TriggeredJobsHelper.load();
+        timer.stop();
+        long generation = ChangeLog.get().getGeneration();
+        timer.start(Phase.NODE_MATCHING);
+        scanNodes();
+        timer.stop();
+        timer.start(Phase.ITEM_SCAN);
+        scanJobs();
+        timer.stop();
+        timer.start(Phase.TRIGGER_SCAN);
+        scanTriggeredJobs();
+        timer.stop();
+        timer.start(Phase.DEFAULT_VALUE_SCAN);
+        scanJobsWithLabelDefaultValue();
+        timer.stop();
+        timer.start(Phase.CLOUD_MATCHING);
+        scanClouds();
+        timer.stop();
+
+        timer.start(Phase.SORT);
+        Collections.sort(orphanedJobs, JOB_NAME_ORDER);
+        Collections.sort(jobsWithNoLabels, JOB_NAME_ORDER);
+        DashboardSnapshot snapshot = new DashboardSnapshot(sorted(labelsData.values()), sorted(nodesData.values()),
+                orphanedJobs, orphanedTriggeredJobs, orphanedDefaultValueJobs, sorted(singleNodeJobs.values()),
+                sorted(blastRadius.values()), sorted(underRedundantLabels), minimumRedundancy, jobsWithNoLabels, onlyExclusiveNodes, jenkins.clouds.size() > 0, generation);
+        timer.stop();
+        timer.record();
+        return snapshot;
+    }
+
+    private void scanNodes() {
+        // JENKINS-25188 - if all nodes are in exclusive mode, jobs with no labels can't run at all
+        onlyExclusiveNodes = Node.Mode.EXCLUSIVE.equals(jenkins.getMode());
+        nodesSelfLabels.add(jenkins.getSelfLabel());
+        nodesData.put(jenkins.getSelfLabel(), new NodeData(jenkins));
+        for (Node node : jenkins.getNodes()) {
+            if (!Node.Mode.EXCLUSIVE.equals(node.getMode())) {
+                onlyExclusiveNodes = false;
+            }
+            nodesSelfLabels.add(node.getSelfLabel());
+            nodesData.put(node.getSelfLabel(), new NodeData(node));
+        }
+
+        // list all LabelAtom defined by all nodes, including Jenkins master node,
+        // once all self labels are known
+        listNodeLabels(jenkins);
+        for (Node node : jenkins.getNodes()) {
+            listNodeLabels(node);
+        }
+    }
+
+    private void scanJobs() {
+        // jobs are already grouped by label in the index
+        LabelJobsIndex index = LabelJobsIndex.get();
+        for (Label label : index.getLabels()) {
+            List<AbstractProject<?, ?>> jobs = index.getJobs(label);
+            if (jobs.isEmpty()) {
+                continue;
+            }
+            LabelInfo info = getLabelInfo(label);
+            for (LabelAtom labelAtom : info.atoms) {
+                if (nodesSelfLabels.contains(labelAtom)) {
+                    nodesData.get(labelAtom).addJobs(jobs);
+                }
+                else {
+                    getLabelAtomData(labelAtom).addJobs(jobs);
+                }
+            }
+            if (info.orphaned) {
+                orphanedJobs.addAll(jobs);
+            }
+            if (info.singleNode != null) {
+                getSingleNodeData(info.singleNode).addJobs(jobs);
+            }
+            for (AbstractJobsGroup report : getReports(info)) {
+                report.addJobs(jobs);
+            }
+        }
+
+        // JENKINS-25163 - jobs with no labels
+        jobsWithNoLabels = index.getJobsWithNoLabel();
+        if (onlyExclusiveNodes) {
+            // if job.getAssignedLabel is null then the job can run anywhere, except
+            // if all nodes are in exclusive mode!
+            orphanedJobs.addAll(jobsWithNoLabels);
+        }
+    }
+
+    private void scanTriggeredJobs() {
+        HashMap<Label, HashMap<AbstractProject<?, ?>, TriggeredJob>> triggeredJobsByLabel =
+                new HashMap<Label, HashMap<AbstractProject<?, ?>, TriggeredJob>>();
+        TriggeredJobsHelper.populateTriggeredJobs(triggeredJobsByLabel);
+
+        for (Map.Entry<Label, HashMap<AbstractProject<?, ?>, TriggeredJob>> entry : triggeredJobsByLabel.entrySet()) {
+            Collection<TriggeredJob> triggeredJobs = entry.getValue().values();
+            LabelInfo info = getLabelInfo(entry.getKey());
+            for (LabelAtom labelAtom : info.atoms) {
+                if (nodesSelfLabels.contains(labelAtom)) {
+                    nodesData.get(labelAtom).addTriggeredJobs(triggeredJobs);
+                }
+                else {
+                    getLabelAtomData(labelAtom).addTriggeredJobs(triggeredJobs);
+                }
+            }
+            if (info.orphaned) {
+                // all these triggered jobs are in trouble!
+                orphanedTriggeredJobs.addAll(triggeredJobs);
+            }
+            if (info.singleNode != null) {
+                getSingleNodeData(info.singleNode).addTriggeredJobs(triggeredJobs);
+            }
+            for (AbstractJobsGroup report : getReports(info)) {
+                report.addTriggeredJobs(triggeredJobs);
+            }
+        }
+    }
+
+    private void scanJobsWithLabelDefaultValue() {
+        HashMap<Label, List<AbstractProject<?, ?>>> jobsByDefaultLabel = new HashMap<Label, List<AbstractProject<?, ?>>>();
+        TriggeredJobsHelper.populateJobsWithLabelDefaultValue(jobsByDefaultLabel);
+
+        for (Map.Entry<Label, List<AbstractProject<?, ?>>> entry : jobsByDefaultLabel.entrySet()) {
+            List<AbstractProject<?, ?>> jobs = entry.getValue();
+            LabelInfo info = getLabelInfo(entry.getKey());
+            for (LabelAtom labelAtom : info.atoms) {
+                if (nodesSelfLabels.contains(labelAtom)) {
+                    nodesData.get(labelAtom).addJobsWithDefaultValue(jobs);
+                }
+                else {
+                    getLabelAtomData(labelAtom).addJobsWithDefaultValue(jobs);
+                }
+            }
+            if (info.orphaned) {
+                orphanedDefaultValueJobs.addAll(jobs);
+            }
+            if (info.singleNode != null) {
+                getSingleNodeData(info.singleNode).addJobsWithDefaultValue(jobs);
+            }
+            for (AbstractJobsGroup report : getReports(info)) {
+                report.addJobsWithDefaultValue(jobs);
+            }
+        }
+    }
+
+    private void scanClouds() {
+        if (jenkins.clouds.size() == 0) {
+            return;
+        }
+        // Listing all available labels so that the cloud template related labels can be picked from them
+        CloudProvisioningCache clouds = CloudProvisioningCache.get();
+        for (Label label : jenkins.getLabels()) {
+            if (clouds.canProvision(label)) {
+                for (LabelAtom labelAtom : label.listAtoms()) {
+                    getLabelAtomData(labelAtom);
+                }
+            }
+        }
+    }
+
+    private LabelInfo getLabelInfo(Label label) {
+        LabelInfo info = labelInfos.get(label);
+        if (info == null) {
+            timer.start(Phase.NODE_MATCHING);
+            int nodesCount = NodeMatchCache.get().getMatchingNodesCount(label);
+            Node singleNode = NodeMatchCache.get().getSingleMatchingNode(label);
+            // only labels matching one or two nodes are in the blast radius of a node
+            List<Node> lastTwoNodes = nodesCount == 2 ? NodeMatchCache.get().getMatchingNodes(label) : null;
+            timer.stop();
+            // orphaned once its single node is gone, unless a cloud can provision it
+            Node lastNode = singleNode != null && isOrphanedLabel(label, 0) ? singleNode : null;
+            boolean orphaned = isOrphanedLabel(label, nodesCount);
+            info = new LabelInfo(label.listAtoms(), orphaned, singleNode, lastNode, lastTwoNodes,
+                    orphaned ? null : getUnderRedundantLabel(label, nodesCount));
+            labelInfos.put(label, info);
+        }
+        return info;
+    }
+
+    /**
+     * @param label a label that is not orphaned: orphaned jobs are already listed as such
+     * @return the report entry of this label if it matches fewer online nodes than the minimum
+     * redundancy, else null
+     */
+    private UnderRedundantLabel getUnderRedundantLabel(Label label, int nodesCount) {
+        if (minimumRedundancy <= 0) {
+            return null;
+        }
+        // maintained by NodeMatchCache as nodes go online and offline
+        timer.start(Phase.NODE_MATCHING);
+        int onlineNodesCount = NodeMatchCache.get().getOnlineMatchingNodesCount(label);
+        timer.stop();
+        if (onlineNodesCount >= minimumRedundancy) {
+            return null;
+        }
+        if (countClouds) {
+            timer.start(Phase.CLOUD_MATCHING);
+            boolean provisioned = CloudProvisioningCache.get().canProvision(label);
+            timer.stop();
+            if (provisioned) {
+                return null;
+            }
+        }
+        UnderRedundantLabel result = new UnderRedundantLabel(label, onlineNodesCount, nodesCount);
+        underRedundantLabels.add(result);
+        return result;
+    }
+
+    // blast radius of nodes, and under-redundant labels, the jobs of this label belong to
+    private List<AbstractJobsGroup> getReports(LabelInfo info) {
+        List<AbstractJobsGroup> result = new ArrayList<AbstractJobsGroup>();
+        if (info.underRedundant != null) {
+            result.add(info.underRedundant);
+        }
+        if (info.lastNode != null) {
+            result.add(getBlastRadius(info.lastNode).getOrphaned());
+        }
+        if (info.lastTwoNodes != null) {
+            for (Node node : info.lastTwoNodes) {
+                result.add(getBlastRadius(node).getSingleNode());
+            }
+        }
+        return result;
+    }
+
+    private NodeBlastRadius getBlastRadius(Node node) {
+        NodeBlastRadius data = blastRadius.get(node);
+        if (data == null) {
+            data = new NodeBlastRadius(node);
+            blastRadius.put(node, data);
+        }
+        return data;
+    }
+
+    /**
+     * @param label the label to test
+     * @param nodesCount number of nodes matching this label
+     * @return true if no node can accept this label. This means that if a job has this label
+     * it will remain stuck in the queue as no node can run it
+     */
+    private boolean isOrphanedLabel(Label label, int nodesCount) {
+        if (nodesCount > 0) {
+            // this label can run on at least one node, including master... label is not orphaned!
+            return false;
+        }
+        // JENKINS-32445, also look for clouds that could support this label
+        timer.start(Phase.CLOUD_MATCHING);
+        boolean orphaned = !CloudProvisioningCache.get().canProvision(label);
+        timer.stop();
+        return orphaned;
+    }
+
+    private void listNodeLabels(Node node) {
+        // list only static labels, not dynamic labels nor the self-label
+        // so do not call Node.getAssignedLabels(), instead replicate here
+        // only the interesting part of this function, which is the Label.parse(getLabelString()) call
+        for (LabelAtom label : Label.parse(node.getLabelString())) {
+            if (nodesSelfLabels.contains(label)) {
+                // skip label that corresponds to a node name
+                continue;
+            }
+            getLabelAtomData(label).add(node);
+        }
+    }
+
+    private LabelAtomData getLabelAtomData(LabelAtom labelAtom) {
+        LabelAtomData data = labelsData.get(labelAtom);
+        if (data == null) {
+            data = new LabelAtomData(labelAtom);
+            labelsData.put(labelAtom, data);
+        }
+        return data;
+    }
+
+    private NodeData getSingleNodeData(Node node) {
+        NodeData data = singleNodeJobs.get(node);
+        if (data == null) {
+            data = new NodeData(node);
+            singleNodeJobs.put(node, data);
+        }
+        return data;
+    }
+
+    private static <T extends Comparable<T>> List<T> sorted(Collection<T> values) {
+        ArrayList<T> result = new ArrayList<T>(values);
+        Collections.sort(result);
+        return result;
+    }
+}
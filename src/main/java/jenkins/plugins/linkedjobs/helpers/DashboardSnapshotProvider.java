@@ -0,0 +1,193 @@
+/*
+ * The MIT License
+ * 
+ * Copyright (C) 2026 Dominique Brice
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is furnished
+ * to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package jenkins.plugins.linkedjobs.helpers;
+
+import hudson.security.ACL;
+import hudson.security.ACLContext;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+
+import jenkins.model.Jenkins;
+import jenkins.plugins.linkedjobs.model.DashboardSnapshot;
+import jenkins.plugins.linkedjobs.settings.GlobalSettings;
+
+import org.acegisecurity.Authentication;
+
+/**
+ * Single entry point to get the Labels Dashboard data.
+ * <p>
+ * Computation is single-flight: when several requests need a snapshot at the same time,
+ * only the first one computes it, the other ones wait for it and share the result.
+ * Since what can be seen on the dashboard depends on the permissions of the user,
+ * a computation is only shared between requests of the same user, with the same groups:
+ * see {@link PermissionFilter#getUserKey()}.
+ * <p>
+ * When background refresh is enabled in {@link GlobalSettings}, the last snapshot of each
+ * user is kept and served right away, even if it is getting old, while
+ * {@link jenkins.plugins.linkedjobs.extensions.DashboardRefreshWork} computes a new one
+ * in the background. Only the first visit of a user is computed in the request thread.
+ */
+public class DashboardSnapshotProvider {
+
+    private static final DashboardSnapshotProvider INSTANCE = new DashboardSnapshotProvider();
+
+    // snapshots of users who did not open the dashboard for that long are dropped
+    // instead of being refreshed in the background
+    private static final long IDLE_TIMEOUT = TimeUnit.HOURS.toMillis(1);
+
+    // computations in progress, by user key
+    private final ConcurrentHashMap<String, FutureTask<DashboardSnapshot>> inProgress =
+            new ConcurrentHashMap<String, FutureTask<DashboardSnapshot>>();
+    // last snapshot computed for each user, by user key
+    private final ConcurrentHashMap<String, UserSnapshot> latest = new ConcurrentHashMap<String, UserSnapshot>();
+
+    public static DashboardSnapshotProvider get() {
+        return INSTANCE;
+    }
+
+    /**
+     * @return the last snapshot computed for the current user if background refresh is
+     * enabled, else a snapshot computed for the current user, either by this call or by
+     * a call from another request that was already in progress
+     */
+    public DashboardSnapshot getSnapshot() {
+        UserSnapshot current = latest.get(PermissionFilter.getUserKey());
+        if (current == null || getRefreshInterval() <= 0) {
+            return compute(Jenkins.getAuthentication());
+        }
+        current.lastAccess = System.currentTimeMillis();
+        return current.snapshot;
+    }
+
+    /**
+     * @return the snapshot {@link #getSnapshot()} would return right away to the current
+     * user, null if it would have to compute one
+     */
+    public DashboardSnapshot getLatest() {
+        UserSnapshot current = latest.get(PermissionFilter.getUserKey());
+        return current == null || getRefreshInterval() <= 0 ? null : current.snapshot;
+    }
+
+    /**
+     * @return a new snapshot for the current user, replacing the last one
+     */
+    public DashboardSnapshot refresh() {
+        return compute(Jenkins.getAuthentication());
+    }
+
+    /**
+     * Compute again the snapshots older than the refresh interval, for all users who
+     * opened the dashboard recently. Called from a background thread.
+     */
+    public void refreshAll() {
+        long interval = getRefreshInterval();
+        long now = System.currentTimeMillis();
+        for (Map.Entry<String, UserSnapshot> entry : latest.entrySet()) {
+            UserSnapshot current = entry.getValue();
+            if (interval <= 0 || now - current.lastAccess > IDLE_TIMEOUT) {
+                latest.remove(entry.getKey(), current);
+            }
+            else if (now - current.snapshot.getComputedAt() >= interval) {
+                // as the user, so that the snapshot only shows what this user can see
+                try (ACLContext ctx = ACL.as(current.authentication)) {
+                    compute(current.authentication);
+                }
+            }
+        }
+    }
+
+    // refresh interval in milliseconds, 0 if background refresh is disabled
+    private static long getRefreshInterval() {
+        GlobalSettings settings = GlobalSettings.get();
+        return settings == null ? 0 : TimeUnit.MINUTES.toMillis(settings.getRefreshInterval());
+    }
+
+    // the actual computation, overridden by tests
+    DashboardSnapshot build() {
+        return DashboardSnapshotBuilder.build();
+    }
+
+    // auth must be the current authentication
+    private DashboardSnapshot compute(final Authentication auth) {
+        final String key = PermissionFilter.getUserKey();
+        FutureTask<DashboardSnapshot> task = new FutureTask<DashboardSnapshot>(new Callable<DashboardSnapshot>() {
+            public DashboardSnapshot call() {
+                DashboardSnapshot snapshot = build();
+                UserSnapshot previous = latest.get(key);
+                latest.put(key, new UserSnapshot(auth, snapshot,
+                        previous == null ? snapshot.getComputedAt() : previous.lastAccess));
+                return snapshot;
+            }
+        });
+
+        FutureTask<DashboardSnapshot> running = inProgress.putIfAbsent(key, task);
+        if (running == null) {
+            // nothing in progress for this user, compute it in this thread
+            try {
+                task.run();
+            }
+            finally {
+                inProgress.remove(key, task);
+            }
+            running = task;
+        }
+
+        try {
+            return running.get();
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the Labels Dashboard data", e);
+        }
+        catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    private static final class UserSnapshot {
+        // to compute the next snapshot in the background with the same permissions
+        final Authentication authentication;
+        final DashboardSnapshot snapshot;
+        volatile long lastAccess;
+
+        UserSnapshot(Authentication authentication, DashboardSnapshot snapshot, long lastAccess) {
+            this.authentication = authentication;
+            this.snapshot = snapshot;
+            this.lastAccess = lastAccess;
+        }
+    }
+}
@@ -0,0 +1,203 @@
+/*
+ * The MIT License
+ * 
+ * Copyright (C) 2026 Dominique Brice
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is furnished
+ * to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package jenkins.plugins.linkedjobs.helpers;
+
+import hudson.model.AbstractProject;
+import hudson.model.Label;
+import hudson.model.labels.LabelAtom;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import javax.servlet.ServletException;
+
+import jenkins.plugins.linkedjobs.model.DashboardSnapshot;
+import jenkins.plugins.linkedjobs.model.LabelAtomData;
+
+import org.kohsuke.stapler.HttpResponse;
+import org.kohsuke.stapler.StaplerRequest;
+import org.kohsuke.stapler.StaplerResponse;
+
+/**
+ * Writes what changed in the Labels section of the Labels Dashboard since a given
+ * generation, as JSON. See README.md for the schema.
+ * <p>
+ * Changes come from {@link ChangeLog}, up to the generation of the snapshot, and labels
+ * that changed are written from the snapshot, in the same format as labelsData.
+ */
+public class DeltaJsonWriter implements HttpResponse {
+
+    private final DashboardSnapshot snapshot;
+    private final long since;
+    private final LabelsDataJsonWriter labelsWriter;
+
+    /**
+     * @param snapshot the current snapshot of the current user
+     * @param since generation returned by a previous call to labelsData or delta
+     * @param fields comma-separated list of the fields of labels to write, null or empty for all fields
+     * @throws IllegalArgumentException if since is not a positive number, or a field is unknown
+     */
+    public DeltaJsonWriter(DashboardSnapshot snapshot, String since, String fields) {
+        this.snapshot = snapshot;
+        this.since = parseSince(since);
+        this.labelsWriter = new LabelsDataJsonWriter(snapshot.getLabelsData(), fields, null, null);
+    }
+
+    public void generateResponse(StaplerRequest req, StaplerResponse rsp, Object node) throws IOException, ServletException {
+        rsp.setContentType("application/json;charset=UTF-8");
+        Writer w = rsp.getCompressedWriter(req);
+        write(w);
+        w.close();
+    }
+
+    public void write(Writer w) throws IOException {
+        ChangeLog.Delta delta = ChangeLog.get().getDelta(since, snapshot.getGeneration());
+        w.write("{\"status\":\"ok\",\"generation\":");
+        w.write(Long.toString(snapshot.getGeneration()));
+        w.write(",\"since\":");
+        w.write(Long.toString(since));
+        w.write(",\"reset\":");
+        w.write(Boolean.toString(delta == null));
+        if (delta != null) {
+            writeLabels(w, delta);
+            writeNodes(w, delta);
+            writeJobs(w, delta);
+        }
+        w.write('}');
+    }
+
+    private void writeLabels(Writer w, ChangeLog.Delta delta) throws IOException {
+        HashMap<String, LabelAtomData> labelsByName = new HashMap<String, LabelAtomData>();
+        for (LabelAtomData data : snapshot.getLabelsData()) {
+            labelsByName.put(data.getLabel(), data);
+        }
+        List<String> removed = new ArrayList<String>();
+        w.write(",\"labels\":[");
+        boolean first = true;
+        for (String name : delta.getLabels()) {
+            LabelAtomData data = labelsByName.get(name);
+            if (data == null) {
+                // not used by any job, node or cloud anymore
+                removed.add(name);
+                continue;
+            }
+            if (!first) {
+                w.write(',');
+            }
+            first = false;
+            labelsWriter.writeLabel(w, data);
+        }
+        w.write("],\"removedLabels\":");
+        writeStrings(w, removed);
+    }
+
+    private static void writeNodes(Writer w, ChangeLog.Delta delta) throws IOException {
+        List<String> removed = new ArrayList<String>();
+        w.write(",\"nodes\":[");
+        boolean first = true;
+        for (Map.Entry<String, Set<LabelAtom>> node : delta.getNodes().entrySet()) {
+            if (node.getValue() == null) {
+                removed.add(node.getKey());
+                continue;
+            }
+            if (!first) {
+                w.write(',');
+            }
+            first = false;
+            w.write("{\"name\":");
+            LabelsDataJsonWriter.writeString(w, node.getKey());
+            w.write(",\"labels\":");
+            TreeSet<String> labels = new TreeSet<String>();
+            for (LabelAtom atom : node.getValue()) {
+                labels.add(atom.getName());
+            }
+            writeStrings(w, labels);
+            w.write('}');
+        }
+        w.write("],\"removedNodes\":");
+        writeStrings(w, removed);
+    }
+
+    // only the jobs the current user can see
+    private static void writeJobs(Writer w, ChangeLog.Delta delta) throws IOException {
+        w.write(",\"jobs\":[");
+        boolean first = true;
+        for (Map.Entry<String, AbstractProject<?, ?>> job : delta.getJobs().entrySet()) {
+            if (!PermissionFilter.canRead(job.getValue())) {
+                continue;
+            }
+            if (!first) {
+                w.write(',');
+            }
+            first = false;
+            w.write("{\"job\":");
+            LabelsDataJsonWriter.writeJob(w, job.getValue());
+            w.write(",\"label\":");
+            Label label = delta.getJobLabel(job.getKey());
+            LabelsDataJsonWriter.writeString(w, label == null ? null : label.getExpression());
+            w.write('}');
+        }
+        w.write("],\"removedJobs\":");
+        List<String> removed = new ArrayList<String>();
+        for (Map.Entry<String, AbstractProject<?, ?>> job : delta.getRemovedJobs().entrySet()) {
+            if (PermissionFilter.canRead(job.getValue())) {
+                removed.add(job.getKey());
+            }
+        }
+        writeStrings(w, removed);
+    }
+
+    private static void writeStrings(Writer w, Iterable<String> values) throws IOException {
+        w.write('[');
+        boolean first = true;
+        for (String value : values) {
+            if (!first) {
+                w.write(',');
+            }
+            first = false;
+            LabelsDataJsonWriter.writeString(w, value);
+        }
+        w.write(']');
+    }
+
+    private static long parseSince(String since) {
+        try {
+            long result = Long.parseLong(since == null ? "" : since.trim());
+            if (result >= 0) {
+                return result;
+            }
+        }
+        catch (NumberFormatException e) {
+            // reported below
+        }
+        throw new IllegalArgumentException("Invalid since: " + since);
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * The MIT License
+ * 
+ * Copyright (C) 2026 Dominique Brice
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is furnished
+ * to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package jenkins.plugins.linkedjobs.helpers;
+
+import hudson.Util;
+
+import javax.servlet.http.HttpSession;
+
+import org.kohsuke.stapler.Stapler;
+import org.kohsuke.stapler.StaplerRequest;
+import org.kohsuke.stapler.StaplerResponse;
+
+/**
+ * Conditional GET support for the JSON data of this plugin: it only changes when the
+ * generation of {@link ChangeLog} changes, so the same version of the data can be
+ * identified by this generation and by who is asking. Not for HTML pages showing the
+ * status of builds, which changes without any new generation.
+ */
+public class ETags {
+
+    private ETags() {
+    }
+
+    /**
+     * @return the generation of {@link ChangeLog}, once the current nodes are compared with
+     * the ones {@link NodeMatchCache} knows: nodes are saved by Jenkins without any event
+     * this plugin can listen to, so their changes are only recorded then
+     */
+    public static long getGeneration() {
+        NodeMatchCache cache = NodeMatchCache.get();
+        cache.load();
+        cache.refresh();
+        return ChangeLog.get().getGeneration();
+    }
+
+    /**
+     * Set the ETag of the current response, and check it against the If-None-Match header
+     * of the current request. Only GET and HEAD requests are taken into account.
+     * @param page identifies the page, e.g. its view or its URL
+     * @param version generation of the data displayed by the page
+     * @return true if the client already has this version of the page
+     */
+    public static boolean isNotModified(String page, String version) {
+        StaplerRequest req = Stapler.getCurrentRequest();
+        StaplerResponse rsp = Stapler.getCurrentResponse();
+        if (req == null || rsp == null || !("GET".equals(req.getMethod()) || "HEAD".equals(req.getMethod()))) {
+            return false;
+        }
+        String etag = compute(page, version, req);
+        rsp.setHeader("ETag", etag);
+        return matches(req.getHeader("If-None-Match"), etag);
+    }
+
+    static String compute(String page, String version, StaplerRequest req) {
+        StringBuilder key = new StringBuilder();
+        key.append(page).append('\n').append(version).append('\n');
+        // what the current user can see depends on the user and its groups
+        key.append(PermissionFilter.getUserKey()).append('\n');
+        // pages with a form embed a crumb, which depends on the session
+        HttpSession session = req.getSession(false);
+        key.append(session == null ? "" : session.getId());
+        // weak: the same version may be rendered with different bytes, e.g. in the side panel
+        return "W/\"" + Util.getDigestOf(key.toString()) + "\"";
+    }
+
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        // weak comparison, see RFC 7232
+        String opaque = etag.startsWith("W/") ? etag.substring(2) : etag;
+        for (String candidate : ifNoneMatch.split(",")) {
+            candidate = candidate.trim();
+            if (candidate.startsWith("W/")) {
+                candidate = candidate.substring(2);
+            }
+            if (candidate.equals("*") || candidate.equals(opaque)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
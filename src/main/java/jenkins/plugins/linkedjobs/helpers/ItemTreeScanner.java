@@ -0,0 +1,159 @@
+/*
+ * The MIT License
+ * 
+ * Copyright (C) 2026 Dominique Brice
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is furnished
+ * to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package jenkins.plugins.linkedjobs.helpers;
+
+import hudson.model.AbstractProject;
+import hudson.model.Item;
+import hudson.model.ItemGroup;
+import hudson.security.ACL;
+import hudson.security.ACLContext;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import jenkins.model.Jenkins;
+import jenkins.plugins.linkedjobs.settings.GlobalSettings;
+
+/**
+ * Full scan of all jobs of this Jenkins instance, used when the indexes of this plugin
+ * are built from scratch, i.e. at startup or after all items are reloaded from disk.
+ * <p>
+ * Instead of walking the whole item tree one folder after another like Items.getAllItems(),
+ * each ItemGroup is scanned by its own fork/join task, as {@link ACL#SYSTEM}, on a pool
+ * whose size is configured in {@link GlobalSettings}. Each task computes a partial result
+ * for its subtree, and partial results are merged in the same order as Items.getAllItems():
+ * items of each group sorted by name, and jobs of a folder right where the folder is.
+ */
+public class ItemTreeScanner {
+
+    /**
+     * What to compute for each job, and how to merge results of different subtrees.
+     * visit() is called concurrently for different results, so it must not modify
+     * anything else than its result.
+     */
+    public interface Visitor<R> {
+        R newResult();
+
+        void visit(AbstractProject<?, ?> job, R result);
+
+        // add all of 'from' at the end of 'into'
+        void merge(R into, R from);
+    }
+
+    private static final Comparator<Item> ITEM_NAME_ORDER = new Comparator<Item>() {
+        public int compare(Item i1, Item i2) {
+            return i1.getName().compareTo(i2.getName());
+        }
+    };
+
+    private ItemTreeScanner() {
+    }
+
+    /**
+     * @return the result of visitor for all jobs of this Jenkins instance,
+     * whatever the permissions of the current user
+     */
+    public static <R> R scan(Visitor<R> visitor) {
+        return scan(visitor, getParallelism());
+    }
+
+    // with the given number of threads instead of the configured one
+    static <R> R scan(Visitor<R> visitor, int parallelism) {
+        Jenkins jenkins = Jenkins.getInstance();
+        if (parallelism <= 1) {
+            // not worth a pool
+            return new ScanTask<R>(jenkins, visitor, false).compute();
+        }
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            return pool.invoke(new ScanTask<R>(jenkins, visitor, true));
+        }
+        finally {
+            // scans from scratch are rare, don't keep idle threads around
+            pool.shutdown();
+        }
+    }
+
+    static int getParallelism() {
+        GlobalSettings settings = GlobalSettings.get();
+        int parallelism = settings == null ? 0 : settings.getScanParallelism();
+        return parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+    }
+
+    private static final class ScanTask<R> extends RecursiveTask<R> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient ItemGroup<?> group;
+        private final transient Visitor<R> visitor;
+        // false when scanning from the caller's thread, without any pool
+        private final boolean parallel;
+
+        ScanTask(ItemGroup<?> group, Visitor<R> visitor, boolean parallel) {
+            this.group = group;
+            this.visitor = visitor;
+            this.parallel = parallel;
+        }
+
+        @Override
+        protected R compute() {
+            // tasks run on pool threads, which know nothing about the caller's authentication
+            try (ACLContext ctx = ACL.as(ACL.SYSTEM)) {
+                List<Item> items = new ArrayList<Item>(group.getItems());
+                Collections.sort(items, ITEM_NAME_ORDER);
+
+                // start scanning all sub-groups first...
+                HashMap<Item, ScanTask<R>> subTasks = new HashMap<Item, ScanTask<R>>();
+                for (Item item : items) {
+                    if (item instanceof ItemGroup) {
+                        ScanTask<R> subTask = new ScanTask<R>((ItemGroup<?>) item, visitor, parallel);
+                        if (parallel) {
+                            subTask.fork();
+                        }
+                        subTasks.put(item, subTask);
+                    }
+                }
+
+                // ...while this group's jobs are visited
+                R result = visitor.newResult();
+                for (Item item : items) {
+                    if (item instanceof AbstractProject) {
+                        visitor.visit((AbstractProject<?, ?>) item, result);
+                    }
+                    ScanTask<R> subTask = subTasks.get(item);
+                    if (subTask != null) {
+                        visitor.merge(result, parallel ? subTask.join() : subTask.compute());
+                    }
+                }
+                return result;
+            }
+        }
+    }
+}
@@ -0,0 +1,455 @@
+/*
+ * The MIT License
+ * 
+ * Copyright (C) 2026 Dominique Brice
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is furnished
+ * to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package jenkins.plugins.linkedjobs.helpers;
+
+import hudson.model.AbstractProject;
+import hudson.model.Item;
+import hudson.model.ItemGroup;
+import hudson.model.Items;
+import hudson.model.Label;
+import hudson.model.TopLevelItem;
+import hudson.model.labels.LabelAtom;
+import hudson.security.ACL;
+import hudson.security.ACLContext;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * In-memory index of all jobs of this Jenkins instance, grouped by assigned label.
+ * <p>
+ * The index is built with one scan of all items the first time it is needed, then kept
+ * up to date by {@link jenkins.plugins.linkedjobs.extensions.JobsIndexListener} each time
+ * a job is created, updated, renamed or deleted. Pages read from it instead of calling
+ * Jenkins.getAllItems() on every display, so their cost depends on the size of their
+ * result rather than on the number of jobs.
+ * <p>
+ * The scan is done by {@link ItemTreeScanner} as {@link ACL#SYSTEM}, so the index is the same for everyone.
+ * Read permission of the current user is checked by {@link PermissionFilter} when jobs are read from the index.
+ * <p>
+ * The full scan runs without holding the monitor of the index, so that listeners saving
+ * items are not blocked meanwhile: the changes they report during the scan are applied
+ * once its result is indexed.
+ */
+public class LabelJobsIndex {
+
+    private static final LabelJobsIndex INSTANCE = new LabelJobsIndex();
+
+    // assigned label of all jobs, for the full scan
+    private static final ItemTreeScanner.Visitor<LinkedHashMap<AbstractProject<?, ?>, Label>> ASSIGNED_LABELS =
+            new ItemTreeScanner.Visitor<LinkedHashMap<AbstractProject<?, ?>, Label>>() {
+        public LinkedHashMap<AbstractProject<?, ?>, Label> newResult() {
+            return new LinkedHashMap<AbstractProject<?, ?>, Label>();
+        }
+
+        public void visit(AbstractProject<?, ?> job, LinkedHashMap<AbstractProject<?, ?>, Label> result) {
+            // consider only TopLevelItem, just like put(job)
+            if (job instanceof TopLevelItem) {
+                result.put(job, job.getAssignedLabel());
+            }
+        }
+
+        public void merge(LinkedHashMap<AbstractProject<?, ?>, Label> into, LinkedHashMap<AbstractProject<?, ?>, Label> from) {
+            into.putAll(from);
+        }
+    };
+
+    // assigned label of each indexed job, null for jobs with no label
+    private final HashMap<AbstractProject<?, ?>, Label> labelByJob = new HashMap<AbstractProject<?, ?>, Label>();
+    // indexed jobs, grouped by the canonical form of their assigned label
+    private final HashMap<Label, LinkedHashSet<AbstractProject<?, ?>>> jobsByLabel =
+            new HashMap<Label, LinkedHashSet<AbstractProject<?, ?>>>();
+    // inverted index: labels of jobsByLabel using each atom, for the Linked Jobs page of an atom
+    private final HashMap<LabelAtom, HashSet<Label>> labelsByAtom = new HashMap<LabelAtom, HashSet<Label>>();
+    // labels of jobsByLabel matching a node that has none of their atoms, e.g. !windows:
+    // they are not found through labelsByAtom from the atoms of a node
+    private final HashSet<Label> labelsMatchingNoAtom = new HashSet<Label>();
+    // JENKINS-25163 - jobs that do not have a label
+    private final LinkedHashSet<AbstractProject<?, ?>> jobsWithNoLabel = new LinkedHashSet<AbstractProject<?, ?>>();
+    // false until the first full scan, and again after invalidate()
+    private boolean loaded = false;
+    // one full scan at a time, other readers wait for its result
+    private final Object scanLock = new Object();
+    // changes reported while a full scan is running, null when no scan is running
+    private List<Runnable> changesDuringScan = null;
+    // incremented by invalidate(), so that the result of a scan started before is dropped
+    private long scanGeneration = 0;
+
+    public static LabelJobsIndex get() {
+        return INSTANCE;
+    }
+
+    /**
+     * Build the index now if needed, instead of the first time it is read
+     */
+    public void load() {
+        ensureLoaded();
+    }
+
+    /**
+     * @return true if the index is built, false if it will be built the next time it's needed
+     */
+    public synchronized boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * @return all labels assigned to at least one job, whether the current user
+     * can see these jobs or not
+     */
+    public Set<Label> getLabels() {
+        ensureLoaded();
+        synchronized (this) {
+            return new HashSet<Label>(jobsByLabel.keySet());
+        }
+    }
+
+    /**
+     * @param atom a label atom
+     * @return the labels using this atom and assigned to at least one job, whether the current
+     * user can see these jobs or not
+     */
+    public Set<Label> getLabels(LabelAtom atom) {
+        ensureLoaded();
+        synchronized (this) {
+            HashSet<Label> labels = labelsByAtom.get(atom);
+            return labels == null ? new HashSet<Label>() : new HashSet<Label>(labels);
+        }
+    }
+
+    /**
+     * @return the labels assigned to at least one job that match a node having none of their
+     * atoms, e.g. !windows, whether the current user can see these jobs or not
+     */
+    public Set<Label> getLabelsMatchingNoAtom() {
+        ensureLoaded();
+        synchronized (this) {
+            return new HashSet<Label>(labelsMatchingNoAtom);
+        }
+    }
+
+    /**
+     * @return number of indexed jobs, whether the current user can see them or not
+     */
+    public int getJobsCount() {
+        ensureLoaded();
+        synchronized (this) {
+            return labelByJob.size();
+        }
+    }
+
+    /**
+     * @param label an assigned label
+     * @return the jobs configured with this label or an equivalent one, that the current user can see
+     */
+    public List<AbstractProject<?, ?>> getJobs(Label label) {
+        List<AbstractProject<?, ?>> jobs;
+        ensureLoaded();
+        synchronized (this) {
+            LinkedHashSet<AbstractProject<?, ?>> indexedJobs = jobsByLabel.get(CanonicalLabels.canonical(label));
+            if (indexedJobs == null) {
+                return new ArrayList<AbstractProject<?, ?>>();
+            }
+            jobs = new ArrayList<AbstractProject<?, ?>>(indexedJobs);
+        }
+        return PermissionFilter.filterReadable(jobs);
+    }
+
+    /**
+     * @return the jobs with no assigned label, that the current user can see
+     */
+    public List<AbstractProject<?, ?>> getJobsWithNoLabel() {
+        List<AbstractProject<?, ?>> jobs;
+        ensureLoaded();
+        synchronized (this) {
+            jobs = new ArrayList<AbstractProject<?, ?>>(jobsWithNoLabel);
+        }
+        return PermissionFilter.filterReadable(jobs);
+    }
+
+    /**
+     * Called when an item was created or copied. If it's a folder, all the jobs it contains
+     * are indexed as well.
+     */
+    public synchronized void add(final Item item) {
+        if (deferUntilLoaded(new Runnable() {
+            public void run() {
+                add(item);
+            }
+        })) {
+            return;
+        }
+        if (item instanceof AbstractProject) {
+            put((AbstractProject<?, ?>) item);
+        }
+        else if (item instanceof ItemGroup) {
+            try (ACLContext ctx = ACL.as(ACL.SYSTEM)) {
+                for (AbstractProject<?, ?> job : Items.getAllItems((ItemGroup<?>) item, AbstractProject.class)) {
+                    put(job);
+                }
+            }
+        }
+    }
+
+    /**
+     * Called when the configuration of a job was saved, or when it was moved/renamed,
+     * since its assigned label may have changed
+     */
+    public synchronized void update(final Item item) {
+        if (deferUntilLoaded(new Runnable() {
+            public void run() {
+                update(item);
+            }
+        }) || !(item instanceof AbstractProject)) {
+            return;
+        }
+        put((AbstractProject<?, ?>) item);
+    }
+
+    /**
+     * Called when a job was renamed or moved, so that the change is recorded
+     * under both names
+     */
+    public synchronized void rename(final Item item, final String oldFullName) {
+        if (deferUntilLoaded(new Runnable() {
+            public void run() {
+                rename(item, oldFullName);
+            }
+        }) || !(item instanceof AbstractProject) || !labelByJob.containsKey(item)) {
+            return;
+        }
+        AbstractProject<?, ?> job = (AbstractProject<?, ?>) item;
+        Label jobLabel = labelByJob.get(job);
+        ChangeLog.get().jobChanged(job, jobLabel, jobLabel, oldFullName);
+        put(job);
+    }
+
+    /**
+     * Called when an item was deleted. If it's a folder, all the jobs it contained
+     * are removed from the index as well.
+     */
+    public synchronized void remove(final Item item) {
+        if (deferUntilLoaded(new Runnable() {
+            public void run() {
+                remove(item);
+            }
+        })) {
+            return;
+        }
+        if (item instanceof AbstractProject) {
+            removeAndRecord((AbstractProject<?, ?>) item);
+        }
+        if (item instanceof ItemGroup) {
+            // the folder content is not reliable anymore at this point,
+            // so rely on the full names of the indexed jobs instead
+            String prefix = item.getFullName() + "/";
+            for (AbstractProject<?, ?> job : new ArrayList<AbstractProject<?, ?>>(labelByJob.keySet())) {
+                if (job.getFullName().startsWith(prefix)) {
+                    removeAndRecord(job);
+                }
+            }
+        }
+    }
+
+    /**
+     * Drop the whole index, for instance when all items have been reloaded from disk.
+     * It will be rebuilt the next time it's needed.
+     */
+    public synchronized void invalidate() {
+        labelByJob.clear();
+        jobsByLabel.clear();
+        labelsByAtom.clear();
+        labelsMatchingNoAtom.clear();
+        jobsWithNoLabel.clear();
+        CanonicalLabels.clear();
+        loaded = false;
+        scanGeneration++;
+        ChangeLog.get().reset();
+    }
+
+    // never called while holding the monitor of the index, which the scan would block
+    private void ensureLoaded() {
+        synchronized (this) {
+            if (loaded) {
+                return;
+            }
+        }
+        synchronized (scanLock) {
+            while (true) {
+                long generation;
+                synchronized (this) {
+                    if (loaded) {
+                        // indexed by another reader meanwhile
+                        return;
+                    }
+                    generation = scanGeneration;
+                    changesDuringScan = new ArrayList<Runnable>();
+                }
+                // assigned labels are computed in parallel for each folder, then indexed here
+                LinkedHashMap<AbstractProject<?, ?>, Label> scan = null;
+                try {
+                    scan = ItemTreeScanner.scan(ASSIGNED_LABELS);
+                }
+                finally {
+                    if (scan == null) {
+                        synchronized (this) {
+                            changesDuringScan = null;
+                        }
+                    }
+                }
+                synchronized (this) {
+                    List<Runnable> changes = changesDuringScan;
+                    changesDuringScan = null;
+                    if (generation != scanGeneration) {
+                        // invalidated during the scan, scan again
+                        continue;
+                    }
+                    for (Map.Entry<AbstractProject<?, ?>, Label> entry : scan.entrySet()) {
+                        put(entry.getKey(), entry.getValue());
+                    }
+                    loaded = true;
+                    // the scan may or may not have seen these changes, apply them again
+                    for (Runnable change : changes) {
+                        change.run();
+                    }
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * @return true if this change can't be applied now: the index is not built yet. If a full
+     * scan is running, the change is applied once the scan is indexed, otherwise the next full
+     * scan will take it into account.
+     */
+    private boolean deferUntilLoaded(Runnable change) {
+        if (loaded) {
+            return false;
+        }
+        if (changesDuringScan != null) {
+            changesDuringScan.add(change);
+        }
+        return true;
+    }
+
+    private void put(AbstractProject<?, ?> job) {
+        if (!(job instanceof TopLevelItem)) {
+            // consider only TopLevelItem - not 100% sure why, though...
+            return;
+        }
+        put(job, job.getAssignedLabel());
+    }
+
+    private void put(AbstractProject<?, ?> job, Label jobLabel) {
+        if (labelByJob.containsKey(job) && Objects.equals(labelByJob.get(job), jobLabel)) {
+            // nothing changed for this job
+            return;
+        }
+        Label oldLabel = labelByJob.get(job);
+        removeJob(job);
+        if (loaded) {
+            // not while the whole index is being built
+            ChangeLog.get().jobChanged(job, oldLabel, jobLabel, null);
+        }
+
+        labelByJob.put(job, jobLabel);
+        if (jobLabel == null) {
+            jobsWithNoLabel.add(job);
+            return;
+        }
+        Label canonicalLabel = CanonicalLabels.canonical(jobLabel);
+        LinkedHashSet<AbstractProject<?, ?>> jobsForThisLabel = jobsByLabel.get(canonicalLabel);
+        if (jobsForThisLabel == null) {
+            jobsForThisLabel = new LinkedHashSet<AbstractProject<?, ?>>();
+            jobsByLabel.put(canonicalLabel, jobsForThisLabel);
+            for (LabelAtom atom : canonicalLabel.listAtoms()) {
+                HashSet<Label> labels = labelsByAtom.get(atom);
+                if (labels == null) {
+                    labels = new HashSet<Label>();
+                    labelsByAtom.put(atom, labels);
+                }
+                labels.add(canonicalLabel);
+            }
+            if (matchesNoAtom(canonicalLabel)) {
+                labelsMatchingNoAtom.add(canonicalLabel);
+            }
+        }
+        jobsForThisLabel.add(job);
+    }
+
+    private void removeAndRecord(AbstractProject<?, ?> job) {
+        if (labelByJob.containsKey(job)) {
+            ChangeLog.get().jobRemoved(job, job.getFullName(), labelByJob.get(job));
+            removeJob(job);
+        }
+    }
+
+    private void removeJob(AbstractProject<?, ?> job) {
+        if (!labelByJob.containsKey(job)) {
+            return;
+        }
+        Label oldLabel = labelByJob.remove(job);
+        if (oldLabel == null) {
+            jobsWithNoLabel.remove(job);
+            return;
+        }
+        Label canonicalLabel = CanonicalLabels.canonical(oldLabel);
+        LinkedHashSet<AbstractProject<?, ?>> jobsForOldLabel = jobsByLabel.get(canonicalLabel);
+        if (jobsForOldLabel != null) {
+            jobsForOldLabel.remove(job);
+            if (jobsForOldLabel.isEmpty()) {
+                jobsByLabel.remove(canonicalLabel);
+                // no job uses this label anymore
+                CanonicalLabels.forget(oldLabel);
+                CanonicalLabels.forget(canonicalLabel);
+                labelsMatchingNoAtom.remove(canonicalLabel);
+                for (LabelAtom atom : canonicalLabel.listAtoms()) {
+                    HashSet<Label> labels = labelsByAtom.get(atom);
+                    if (labels != null) {
+                        labels.remove(canonicalLabel);
+                        if (labels.isEmpty()) {
+                            labelsByAtom.remove(atom);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private static boolean matchesNoAtom(Label label) {
+        LabelProgram program = CanonicalLabels.program(label);
+        Set<LabelAtom> noAtom = Collections.emptySet();
+        return program == null ? label.matches(noAtom) : program.matches(noAtom);
+    }
+}
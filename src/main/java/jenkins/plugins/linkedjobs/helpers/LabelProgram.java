@@ -0,0 +1,311 @@
+/*
+ * The MIT License
+ * 
+ * Copyright (C) 2026 Dominique Brice
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is furnished
+ * to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package jenkins.plugins.linkedjobs.helpers;
+
+import hudson.model.Label;
+import hudson.model.labels.LabelAtom;
+import hudson.model.labels.LabelExpression;
+import hudson.model.labels.LabelVisitor;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * A label expression normalized to a canonical form, and compiled into a flat program.
+ * <p>
+ * The canonical form makes equivalent expressions equal: operands of &amp;&amp;, || and
+ * &lt;-&gt; are flattened, deduplicated and sorted, double negations are removed, and
+ * a -&gt; b becomes !a || b. For instance "x64&amp;&amp;linux" and "(linux)&amp;&amp;x64"
+ * both become "linux&amp;&amp;x64", which is the {@link #getKey() key} of the program.
+ * <p>
+ * The program is the canonical form in postfix order, evaluated on a stack either for
+ * a single set of atoms, or for all nodes at once with one BitSet per atom.
+ */
+public final class LabelProgram {
+
+    private static final int ATOM = 0;
+    private static final int NOT = 1;
+    private static final int AND = 2;
+    private static final int OR = 3;
+    private static final int IFF = 4;
+
+    private final String key;
+    // postfix program: pairs of (instruction, argument). The argument is the index
+    // of the atom for ATOM, the number of operands for AND and OR
+    private final int[] code;
+    private final LabelAtom[] atoms;
+
+    private LabelProgram(String key, int[] code, LabelAtom[] atoms) {
+        this.key = key;
+        this.code = code;
+        this.atoms = atoms;
+    }
+
+    /**
+     * @param label the label to compile
+     * @return the compiled program
+     * @throws UnsupportedOperationException if this label is not made of the usual label operators
+     */
+    public static LabelProgram compile(Label label) {
+        Term term = label.accept(new Canonicalizer(), null);
+        if (term == null) {
+            throw new UnsupportedOperationException(label.getExpression());
+        }
+        ArrayList<Integer> code = new ArrayList<Integer>();
+        ArrayList<LabelAtom> atoms = new ArrayList<LabelAtom>();
+        term.compile(code, atoms);
+        int[] flatCode = new int[code.size()];
+        for (int i = 0; i < flatCode.length; i++) {
+            flatCode[i] = code.get(i);
+        }
+        return new LabelProgram(term.key, flatCode, atoms.toArray(new LabelAtom[atoms.size()]));
+    }
+
+    /**
+     * @return the canonical form of the label, a valid label expression
+     */
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * @return true if this label matches a node with these atoms
+     */
+    public boolean matches(Collection<LabelAtom> nodeAtoms) {
+        ArrayDeque<Boolean> stack = new ArrayDeque<Boolean>();
+        for (int pc = 0; pc < code.length; pc += 2) {
+            int argument = code[pc + 1];
+            switch (code[pc]) {
+            case ATOM:
+                stack.push(nodeAtoms.contains(atoms[argument]));
+                break;
+            case NOT:
+                stack.push(!stack.pop());
+                break;
+            case AND:
+            case OR: {
+                boolean and = code[pc] == AND;
+                boolean result = and;
+                for (int i = 0; i < argument; i++) {
+                    result = and ? stack.pop() && result : stack.pop() || result;
+                }
+                stack.push(result);
+                break;
+            }
+            default:
+                stack.push(stack.pop().equals(stack.pop()));
+            }
+        }
+        return stack.pop();
+    }
+
+    /**
+     * Evaluate this label against all nodes at once
+     * @param nodesByAtom for each atom, the nodes having it
+     * @param allNodes all nodes
+     * @return the nodes matching this label
+     */
+    public BitSet evaluate(Map<LabelAtom, BitSet> nodesByAtom, BitSet allNodes) {
+        ArrayDeque<BitSet> stack = new ArrayDeque<BitSet>();
+        for (int pc = 0; pc < code.length; pc += 2) {
+            int argument = code[pc + 1];
+            switch (code[pc]) {
+            case ATOM: {
+                BitSet atomNodes = nodesByAtom.get(atoms[argument]);
+                stack.push(atomNodes == null ? new BitSet() : (BitSet) atomNodes.clone());
+                break;
+            }
+            case NOT: {
+                BitSet result = (BitSet) allNodes.clone();
+                result.andNot(stack.pop());
+                stack.push(result);
+                break;
+            }
+            case AND: {
+                BitSet result = stack.pop();
+                for (int i = 1; i < argument; i++) {
+                    result.and(stack.pop());
+                }
+                stack.push(result);
+                break;
+            }
+            case OR: {
+                BitSet result = stack.pop();
+                for (int i = 1; i < argument; i++) {
+                    result.or(stack.pop());
+                }
+                stack.push(result);
+                break;
+            }
+            default: {
+                // nodes where both sides are equal
+                BitSet different = stack.pop();
+                different.xor(stack.pop());
+                BitSet result = (BitSet) allNodes.clone();
+                result.andNot(different);
+                stack.push(result);
+            }
+            }
+        }
+        return stack.pop();
+    }
+
+    // a node of the canonical form
+    private static final class Term {
+        final int kind;
+        final LabelAtom atom;
+        final List<Term> operands;
+        final String key;
+
+        Term(LabelAtom atom) {
+            this.kind = ATOM;
+            this.atom = atom;
+            this.operands = new ArrayList<Term>();
+            this.key = LabelAtom.escape(atom.getName());
+        }
+
+        Term(int kind, List<Term> operands) {
+            this.kind = kind;
+            this.atom = null;
+            this.operands = operands;
+            StringBuilder sb = new StringBuilder();
+            if (kind == NOT) {
+                sb.append('!');
+            }
+            for (int i = 0; i < operands.size(); i++) {
+                if (i > 0) {
+                    sb.append(kind == AND ? "&&" : kind == OR ? "||" : "<->");
+                }
+                Term operand = operands.get(i);
+                if (operand.kind == ATOM || operand.kind == NOT) {
+                    sb.append(operand.key);
+                }
+                else {
+                    sb.append('(').append(operand.key).append(')');
+                }
+            }
+            this.key = sb.toString();
+        }
+
+        void compile(List<Integer> code, List<LabelAtom> atoms) {
+            if (kind == ATOM) {
+                int index = atoms.indexOf(atom);
+                if (index < 0) {
+                    index = atoms.size();
+                    atoms.add(atom);
+                }
+                code.add(ATOM);
+                code.add(index);
+                return;
+            }
+            for (Term operand : operands) {
+                operand.compile(code, atoms);
+            }
+            code.add(kind);
+            code.add(operands.size());
+        }
+    }
+
+    private static final class Canonicalizer extends LabelVisitor<Term, Void> {
+
+        @Override
+        public Term onAtom(LabelAtom a, Void param) {
+            return new Term(a);
+        }
+
+        @Override
+        public Term onParen(LabelExpression.Paren p, Void param) {
+            return p.base.accept(this, param);
+        }
+
+        @Override
+        public Term onNot(LabelExpression.Not p, Void param) {
+            return not(p.base.accept(this, param));
+        }
+
+        @Override
+        public Term onAnd(LabelExpression.And p, Void param) {
+            return nary(AND, p.lhs.accept(this, param), p.rhs.accept(this, param));
+        }
+
+        @Override
+        public Term onOr(LabelExpression.Or p, Void param) {
+            return nary(OR, p.lhs.accept(this, param), p.rhs.accept(this, param));
+        }
+
+        @Override
+        public Term onIff(LabelExpression.Iff p, Void param) {
+            Term lhs = p.lhs.accept(this, param);
+            Term rhs = p.rhs.accept(this, param);
+            List<Term> operands = new ArrayList<Term>();
+            // <-> is commutative too
+            boolean swap = lhs.key.compareTo(rhs.key) > 0;
+            operands.add(swap ? rhs : lhs);
+            operands.add(swap ? lhs : rhs);
+            return new Term(IFF, operands);
+        }
+
+        @Override
+        public Term onImplies(LabelExpression.Implies p, Void param) {
+            // a -> b is !a || b
+            return nary(OR, not(p.lhs.accept(this, param)), p.rhs.accept(this, param));
+        }
+
+        private static Term not(Term base) {
+            if (base.kind == NOT) {
+                // !!a is a
+                return base.operands.get(0);
+            }
+            List<Term> operands = new ArrayList<Term>();
+            operands.add(base);
+            return new Term(NOT, operands);
+        }
+
+        // flatten, deduplicate and sort the operands of && and ||
+        private static Term nary(int kind, Term lhs, Term rhs) {
+            TreeMap<String, Term> operands = new TreeMap<String, Term>();
+            for (Term term : new Term[] { lhs, rhs }) {
+                if (term.kind == kind) {
+                    for (Term operand : term.operands) {
+                        operands.put(operand.key, operand);
+                    }
+                }
+                else {
+                    operands.put(term.key, term);
+                }
+            }
+            if (operands.size() == 1) {
+                // a && a is a
+                return operands.firstEntry().getValue();
+            }
+            return new Term(kind, new ArrayList<Term>(operands.values()));
+        }
+    }
+}
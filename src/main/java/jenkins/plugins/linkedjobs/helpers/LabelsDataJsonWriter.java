@@ -0,0 +1,260 @@
+/*
+ * The MIT License
+ * 
+ * Copyright (C) 2026 Dominique Brice
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is furnished
+ * to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package jenkins.plugins.linkedjobs.helpers;
+
+import hudson.model.AbstractProject;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.servlet.ServletException;
+
+import jenkins.plugins.linkedjobs.model.DashboardSnapshot;
+import jenkins.plugins.linkedjobs.model.LabelAtomData;
+import jenkins.plugins.linkedjobs.model.TriggeredJob;
+import net.sf.json.util.JSONUtils;
+
+import org.kohsuke.stapler.HttpResponse;
+import org.kohsuke.stapler.StaplerRequest;
+import org.kohsuke.stapler.StaplerResponse;
+
+/**
+ * Writes the Labels section of the Labels Dashboard as JSON, directly to the response.
+ * <p>
+ * The schema is fixed and documented in README.md: only the requested fields are computed
+ * and written, and jobs are written as {name, fullName, url} instead of serializing the
+ * whole job object by reflection. Labels can be paged with offset and limit.
+ */
+public class LabelsDataJsonWriter implements HttpResponse {
+
+    // all fields of a label, in the order they are written
+    public static final List<String> FIELDS = Collections.unmodifiableList(Arrays.asList(
+            "label", "labelURL", "description", "nodesCount", "cloudsCount", "pluginActiveForLabel",
+            "jobsCount", "triggeredJobsCount", "jobsWithLabelDefaultValueCount", "hasMoreThanOneJob",
+            "jobs", "triggeredJobs", "jobsWithLabelDefaultValue"));
+
+    private final List<LabelAtomData> labels;
+    private final Set<String> fields;
+    private final int offset;
+    private final int limit;
+    // generation of the snapshot the labels come from, -1 if unknown
+    private long generation = -1;
+
+    /**
+     * @param labels all labels, sorted
+     * @param fields comma-separated list of fields to write, null or empty for all fields
+     * @param offset number of labels to skip, null for 0
+     * @param limit maximum number of labels to write, null for no limit
+     * @throws IllegalArgumentException if a field is unknown, or offset/limit is not a positive number
+     */
+    public LabelsDataJsonWriter(List<LabelAtomData> labels, String fields, String offset, String limit) {
+        this.labels = labels;
+        this.fields = parseFields(fields);
+        this.offset = parsePositive("offset", offset, 0);
+        this.limit = parsePositive("limit", limit, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Same as above, for the labels of a Labels Dashboard snapshot: the generation of the
+     * snapshot is written too, to be used as starting point of labelsdashboard/delta
+     */
+    public LabelsDataJsonWriter(DashboardSnapshot snapshot, String fields, String offset, String limit) {
+        this(snapshot.getLabelsData(), fields, offset, limit);
+        this.generation = snapshot.getGeneration();
+    }
+
+    public void generateResponse(StaplerRequest req, StaplerResponse rsp, Object node) throws IOException, ServletException {
+        rsp.setContentType("application/json;charset=UTF-8");
+        Writer w = rsp.getCompressedWriter(req);
+        write(w);
+        w.close();
+    }
+
+    public void write(Writer w) throws IOException {
+        int from = Math.min(offset, labels.size());
+        int to = (int) Math.min((long) from + limit, labels.size());
+
+        w.write("{\"status\":\"ok\",");
+        if (generation >= 0) {
+            w.write("\"generation\":");
+            w.write(Long.toString(generation));
+            w.write(',');
+        }
+        w.write("\"total\":");
+        w.write(Integer.toString(labels.size()));
+        w.write(",\"offset\":");
+        w.write(Integer.toString(from));
+        w.write(",\"data\":[");
+        for (int i = from; i < to; i++) {
+            if (i > from) {
+                w.write(',');
+            }
+            writeLabel(w, labels.get(i));
+        }
+        w.write("]}");
+    }
+
+    void writeLabel(Writer w, LabelAtomData data) throws IOException {
+        boolean first = true;
+        w.write('{');
+        for (String field : FIELDS) {
+            if (!fields.contains(field)) {
+                continue;
+            }
+            if (!first) {
+                w.write(',');
+            }
+            first = false;
+            w.write(JSONUtils.quote(field));
+            w.write(':');
+            writeField(w, data, field);
+        }
+        w.write('}');
+    }
+
+    // each field is only computed when it is requested
+    private static void writeField(Writer w, LabelAtomData data, String field) throws IOException {
+        if ("label".equals(field)) {
+            writeString(w, data.getLabel());
+        }
+        else if ("labelURL".equals(field)) {
+            writeString(w, data.getLabelURL());
+        }
+        else if ("description".equals(field)) {
+            writeString(w, data.getDescription());
+        }
+        else if ("nodesCount".equals(field)) {
+            w.write(Integer.toString(data.getNodesCount()));
+        }
+        else if ("cloudsCount".equals(field)) {
+            w.write(Integer.toString(data.getCloudsCount()));
+        }
+        else if ("pluginActiveForLabel".equals(field)) {
+            w.write(Boolean.toString(data.getPluginActiveForLabel()));
+        }
+        else if ("jobsCount".equals(field)) {
+            w.write(Integer.toString(data.getJobsCount()));
+        }
+        else if ("triggeredJobsCount".equals(field)) {
+            w.write(Integer.toString(data.getTriggeredJobsCount()));
+        }
+        else if ("jobsWithLabelDefaultValueCount".equals(field)) {
+            w.write(Integer.toString(data.getJobsWithLabelDefaultValueCount()));
+        }
+        else if ("hasMoreThanOneJob".equals(field)) {
+            w.write(Boolean.toString(data.getHasMoreThanOneJob()));
+        }
+        else if ("jobs".equals(field)) {
+            writeJobs(w, data.getJobs());
+        }
+        else if ("triggeredJobs".equals(field)) {
+            writeTriggeredJobs(w, data.getTriggeredJobs());
+        }
+        else if ("jobsWithLabelDefaultValue".equals(field)) {
+            writeJobs(w, data.getJobsWithLabelDefaultValue());
+        }
+    }
+
+    static void writeTriggeredJobs(Writer w, List<TriggeredJob> triggeredJobs) throws IOException {
+        w.write('[');
+        boolean first = true;
+        for (TriggeredJob triggeredJob : triggeredJobs) {
+            if (!first) {
+                w.write(',');
+            }
+            first = false;
+            w.write("{\"job\":");
+            writeJob(w, triggeredJob.getTriggeredJob());
+            w.write(",\"triggeringJobs\":");
+            writeJobs(w, triggeredJob.getTriggeringJobs());
+            w.write('}');
+        }
+        w.write(']');
+    }
+
+    static void writeJobs(Writer w, List<AbstractProject<?, ?>> jobs) throws IOException {
+        w.write('[');
+        for (int i = 0; i < jobs.size(); i++) {
+            if (i > 0) {
+                w.write(',');
+            }
+            writeJob(w, jobs.get(i));
+        }
+        w.write(']');
+    }
+
+    static void writeJob(Writer w, AbstractProject<?, ?> job) throws IOException {
+        w.write("{\"name\":");
+        writeString(w, job.getName());
+        w.write(",\"fullName\":");
+        writeString(w, job.getFullName());
+        w.write(",\"url\":");
+        writeString(w, job.getUrl());
+        w.write('}');
+    }
+
+    static void writeString(Writer w, String value) throws IOException {
+        w.write(value == null ? "null" : JSONUtils.quote(value));
+    }
+
+    private static Set<String> parseFields(String fields) {
+        if (fields == null || fields.trim().length() == 0) {
+            return new HashSet<String>(FIELDS);
+        }
+        HashSet<String> result = new HashSet<String>();
+        for (String field : fields.split(",")) {
+            field = field.trim();
+            if (field.length() == 0) {
+                continue;
+            }
+            if (!FIELDS.contains(field)) {
+                throw new IllegalArgumentException("Unknown field: " + field);
+            }
+            result.add(field);
+        }
+        return result;
+    }
+
+    static int parsePositive(String name, String value, int defaultValue) {
+        if (value == null || value.trim().length() == 0) {
+            return defaultValue;
+        }
+        try {
+            int result = Integer.parseInt(value.trim());
+            if (result >= 0) {
+                return result;
+            }
+        }
+        catch (NumberFormatException e) {
+            // reported below
+        }
+        throw new IllegalArgumentException("Invalid " + name + ": " + value);
+    }
+}
@@ -0,0 +1,656 @@
+/*
+ * The MIT License
+ * 
+ * Copyright (C) 2026 Dominique Brice
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is furnished
+ * to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package jenkins.plugins.linkedjobs.helpers;
+
+import hudson.model.Computer;
+import hudson.model.Label;
+import hudson.model.Node;
+import hudson.model.labels.LabelAtom;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import jenkins.model.Jenkins;
+
+/**
+ * Cache of the nodes matching each label, shared by all pages of this plugin.
+ * <p>
+ * All nodes are numbered, and for each label atom the nodes having it are stored as a
+ * {@link BitSet}. A label expression is then evaluated against all nodes at once:
+ * &amp;&amp;, || and ! become word-wise operations on these bit sets, instead of calling
+ * Label.matches(node) for each node. Labels are evaluated through their {@link LabelProgram},
+ * and the result is cached by canonical form, so that equivalent labels are evaluated once.
+ * <p>
+ * {@link jenkins.plugins.linkedjobs.extensions.NodeMatchListener} calls {@link #refresh()}
+ * each time nodes are added, removed or reconfigured: if the labels of at least one node
+ * have changed, the bit sets are built again, and cached labels are evaluated again
+ * the next time they are requested.
+ * <p>
+ * The number of online nodes matching each label is counted once, then updated
+ * incrementally by {@link #computerStatusChanged(Computer)} when a node goes online
+ * or offline, for the labels it matches, and by {@link #refresh()} for the nodes
+ * added, removed or relabeled.
+ * <p>
+ * {@link #overlay()} returns a copy-on-write view of these bit sets, where nodes can be
+ * relabeled or removed without changing this cache, to simulate label changes.
+ */
+public class NodeMatchCache {
+
+    private static final NodeMatchCache INSTANCE = new NodeMatchCache();
+
+    // nodes are numbered in the order of Jenkins.getNodes(), which is sorted by name, and since
+    // the master node's name is the empty string, it comes first - just like in Label.getNodes()
+    private static final Comparator<Node> NODE_ORDER = new Comparator<Node>() {
+        public int compare(Node n1, Node n2) {
+            return n1.getNodeName().compareTo(n2.getNodeName());
+        }
+    };
+
+    // all known nodes, including master, by number
+    private final ArrayList<Node> nodes = new ArrayList<Node>();
+    // number of each node, by node name
+    private final HashMap<String, Integer> nodeIndexes = new HashMap<String, Integer>();
+    // labels of all known nodes at the time the bit sets were built, by node name
+    private final HashMap<String, Set<LabelAtom>> atomsByNode = new HashMap<String, Set<LabelAtom>>();
+    // for each label atom, the nodes having it
+    private final HashMap<LabelAtom, BitSet> nodesByAtom = new HashMap<LabelAtom, BitSet>();
+    private final BitSet allNodes = new BitSet();
+    private final BitSet onlineNodes = new BitSet();
+    // nodes matching each label requested so far, by canonical form
+    private final HashMap<String, BitSet> nodesByLabel = new HashMap<String, BitSet>();
+    // number of online nodes matching each label requested so far, by canonical form
+    private final HashMap<String, OnlineCount> onlineCountByLabel = new HashMap<String, OnlineCount>();
+    private boolean loaded = false;
+    // incremented each time the bit sets are built, so that evaluations know they are outdated
+    private long buildCount = 0;
+
+    public static NodeMatchCache get() {
+        return INSTANCE;
+    }
+
+    /**
+     * @param label the label to test
+     * @return all nodes, including master, that can run jobs configured with this label
+     */
+    public synchronized List<Node> getMatchingNodes(Label label) {
+        BitSet matching = lookup(label);
+        List<Node> result = new ArrayList<Node>(matching.cardinality());
+        for (int i = matching.nextSetBit(0); i >= 0; i = matching.nextSetBit(i + 1)) {
+            result.add(nodes.get(i));
+        }
+        return result;
+    }
+
+    public synchronized int getMatchingNodesCount(Label label) {
+        return lookup(label).cardinality();
+    }
+
+    /**
+     * @return number of online nodes, including master, that can run jobs configured with this label
+     */
+    public synchronized int getOnlineMatchingNodesCount(Label label) {
+        BitSet matching = lookup(label);
+        String key = key(label, CanonicalLabels.program(label));
+        OnlineCount count = onlineCountByLabel.get(key);
+        if (count == null) {
+            BitSet online = (BitSet) matching.clone();
+            online.and(onlineNodes);
+            count = new OnlineCount(label, online.cardinality());
+            onlineCountByLabel.put(key, count);
+        }
+        return count.count;
+    }
+
+    /**
+     * Evaluate a label without caching anything, e.g. an expression typed by a user: only
+     * the labels of jobs are worth keeping, any other expression would stay here forever
+     * @param label the label to evaluate
+     * @return the nodes matching this label, as of now
+     */
+    public synchronized Evaluation evaluate(Label label) {
+        if (!loaded) {
+            build(listNodes());
+        }
+        return new Evaluation(label, this);
+    }
+
+    /**
+     * Compare the nodes of an evaluated label with the nodes matching other labels
+     * @param evaluation the label to compare with
+     * @param candidates labels to compare, cached like the labels of jobs
+     * @return the candidates matching at least one of the nodes of evaluation: with true
+     * if all their nodes match it, false if only some of them do
+     */
+    public synchronized Map<Label, Boolean> getOverlappingLabels(Evaluation evaluation, Collection<Label> candidates) {
+        if (!loaded) {
+            build(listNodes());
+        }
+        BitSet matching = evaluation.getMatching(this);
+        HashMap<Label, Boolean> result = new HashMap<Label, Boolean>();
+        for (Label candidate : candidates) {
+            BitSet candidateNodes = lookup(candidate);
+            if (candidateNodes.intersects(matching)) {
+                BitSet outside = (BitSet) candidateNodes.clone();
+                outside.andNot(matching);
+                result.put(candidate, outside.isEmpty());
+            }
+        }
+        return result;
+    }
+
+    // number of labels cached, for tests
+    synchronized int size() {
+        return nodesByLabel.size() + onlineCountByLabel.size();
+    }
+
+    /**
+     * Called when a computer went online or offline: the online counts of the labels
+     * matching its node are updated, instead of being counted again
+     */
+    public synchronized void computerStatusChanged(Computer computer) {
+        Node node = computer.getNode();
+        Integer index = node == null ? null : nodeIndexes.get(node.getNodeName());
+        if (index == null || nodes.get(index) != node) {
+            // not known yet, it will be when the bit sets are built again
+            return;
+        }
+        boolean online = computer.isOnline();
+        if (onlineNodes.get(index) == online) {
+            return;
+        }
+        onlineNodes.set(index, online);
+        for (OnlineCount count : onlineCountByLabel.values()) {
+            if (lookup(count.label).get(index)) {
+                count.count += online ? 1 : -1;
+            }
+        }
+        // e.g. the under-redundant labels of the dashboard
+        ChangeLog.get().itemChanged();
+    }
+
+    /**
+     * @param label the label to test
+     * @return a non-null Node if this and only this node can run jobs configured with label
+     */
+    public synchronized Node getSingleMatchingNode(Label label) {
+        BitSet matching = lookup(label);
+        return matching.cardinality() == 1 ? nodes.get(matching.nextSetBit(0)) : null;
+    }
+
+    /**
+     * @return true if jobs configured with this label can run on this node
+     */
+    public synchronized boolean matches(Label label, Node node) {
+        BitSet matching = lookup(label);
+        Integer index = nodeIndexes.get(node.getNodeName());
+        if (index == null || nodes.get(index) != node) {
+            // this node is not known yet
+            return label.matches(node);
+        }
+        return matching.get(index);
+    }
+
+    /**
+     * @return a view of the nodes matching each label, as of now, to simulate changes
+     */
+    public synchronized Overlay overlay() {
+        if (!loaded) {
+            build(listNodes());
+        }
+        return new Overlay(this);
+    }
+
+    /**
+     * Build the bit sets now if needed, instead of the first time a label is requested
+     */
+    public synchronized void load() {
+        if (!loaded) {
+            build(listNodes());
+        }
+    }
+
+    /**
+     * Compare the current nodes with the ones known by this cache, and build again
+     * the bit sets if nodes were added, removed or relabeled. Online counts are only
+     * updated for these nodes.
+     */
+    public synchronized void refresh() {
+        if (!loaded) {
+            return;
+        }
+        List<Node> currentNodes = listNodes();
+        boolean changed = currentNodes.size() != nodes.size();
+        for (int i = 0; !changed && i < currentNodes.size(); i++) {
+            Node node = currentNodes.get(i);
+            changed = node != nodes.get(i) || !node.getAssignedLabels().equals(atomsByNode.get(node.getNodeName()));
+        }
+        if (changed) {
+            HashMap<String, Set<LabelAtom>> oldAtomsByNode = new HashMap<String, Set<LabelAtom>>(atomsByNode);
+            ArrayList<Node> oldNodes = new ArrayList<Node>(nodes);
+            BitSet oldOnlineNodes = (BitSet) onlineNodes.clone();
+            HashMap<String, BitSet> oldNodesByLabel = new HashMap<String, BitSet>(nodesByLabel);
+            build(currentNodes);
+            updateOnlineCounts(oldNodes, oldAtomsByNode, oldOnlineNodes, oldNodesByLabel);
+            recordChanges(oldAtomsByNode);
+        }
+    }
+
+    /**
+     * Drop all cached results, they will be computed again when requested
+     */
+    public synchronized void invalidate() {
+        nodes.clear();
+        nodeIndexes.clear();
+        atomsByNode.clear();
+        nodesByAtom.clear();
+        allNodes.clear();
+        onlineNodes.clear();
+        nodesByLabel.clear();
+        onlineCountByLabel.clear();
+        loaded = false;
+    }
+
+    private BitSet lookup(Label label) {
+        if (!loaded) {
+            build(listNodes());
+        }
+        LabelProgram program = CanonicalLabels.program(label);
+        String key = key(label, program);
+        BitSet matching = nodesByLabel.get(key);
+        if (matching == null) {
+            matching = evaluate(label, program);
+            nodesByLabel.put(key, matching);
+        }
+        return matching;
+    }
+
+    private BitSet evaluate(Label label, LabelProgram program) {
+        if (program != null) {
+            return program.evaluate(nodesByAtom, allNodes);
+        }
+        // not a label expression known by this cache, match it node by node
+        BitSet matching = new BitSet();
+        for (int i = 0; i < nodes.size(); i++) {
+            if (label.matches(atomsByNode.get(nodes.get(i).getNodeName()))) {
+                matching.set(i);
+            }
+        }
+        return matching;
+    }
+
+    // labels that can't be compiled are cached by expression
+    private static String key(Label label, LabelProgram program) {
+        return program == null ? "\u0000" + label.getExpression() : program.getKey();
+    }
+
+    // online counts are kept, see refresh()
+    private void build(List<Node> currentNodes) {
+        nodes.clear();
+        nodeIndexes.clear();
+        atomsByNode.clear();
+        nodesByAtom.clear();
+        allNodes.clear();
+        onlineNodes.clear();
+        nodesByLabel.clear();
+        for (Node node : currentNodes) {
+            int index = nodes.size();
+            Set<LabelAtom> atoms = node.getAssignedLabels();
+            nodes.add(node);
+            nodeIndexes.put(node.getNodeName(), index);
+            atomsByNode.put(node.getNodeName(), atoms);
+            Computer computer = node.toComputer();
+            if (computer != null && computer.isOnline()) {
+                onlineNodes.set(index);
+            }
+            for (LabelAtom atom : atoms) {
+                BitSet atomNodes = nodesByAtom.get(atom);
+                if (atomNodes == null) {
+                    atomNodes = new BitSet();
+                    nodesByAtom.put(atom, atomNodes);
+                }
+                atomNodes.set(index);
+            }
+        }
+        allNodes.set(0, nodes.size());
+        buildCount++;
+        loaded = true;
+    }
+
+    // the bit sets were built again: only the nodes added, removed, relabeled or gone online
+    // or offline meanwhile change the online counts, by the labels they matched and now match
+    private void updateOnlineCounts(List<Node> oldNodes, Map<String, Set<LabelAtom>> oldAtomsByNode,
+            BitSet oldOnlineNodes, Map<String, BitSet> oldNodesByLabel) {
+        if (onlineCountByLabel.isEmpty()) {
+            return;
+        }
+        // index of each changed node, before and after: null if it was added or removed
+        HashMap<String, Integer> oldIndexes = new HashMap<String, Integer>();
+        for (int i = 0; i < oldNodes.size(); i++) {
+            oldIndexes.put(oldNodes.get(i).getNodeName(), i);
+        }
+        HashMap<String, Integer> changedNodes = new HashMap<String, Integer>();
+        for (int i = 0; i < oldNodes.size(); i++) {
+            String name = oldNodes.get(i).getNodeName();
+            Integer index = nodeIndexes.get(name);
+            if (index == null || nodes.get(index) != oldNodes.get(i) || onlineNodes.get(index) != oldOnlineNodes.get(i)
+                    || !atomsByNode.get(name).equals(oldAtomsByNode.get(name))) {
+                changedNodes.put(name, index);
+            }
+        }
+        for (int i = 0; i < nodes.size(); i++) {
+            if (!oldIndexes.containsKey(nodes.get(i).getNodeName())) {
+                changedNodes.put(nodes.get(i).getNodeName(), i);
+            }
+        }
+        for (Map.Entry<String, OnlineCount> entry : onlineCountByLabel.entrySet()) {
+            OnlineCount count = entry.getValue();
+            BitSet oldMatching = oldNodesByLabel.get(entry.getKey());
+            BitSet matching = lookup(count.label);
+            if (oldMatching == null) {
+                // not evaluated before: counted again
+                BitSet online = (BitSet) matching.clone();
+                online.and(onlineNodes);
+                count.count = online.cardinality();
+                continue;
+            }
+            for (Map.Entry<String, Integer> node : changedNodes.entrySet()) {
+                Integer oldIndex = oldIndexes.get(node.getKey());
+                if (oldIndex != null && oldOnlineNodes.get(oldIndex) && oldMatching.get(oldIndex)) {
+                    count.count--;
+                }
+                Integer index = node.getValue();
+                if (index != null && onlineNodes.get(index) && matching.get(index)) {
+                    count.count++;
+                }
+            }
+        }
+    }
+
+    // nodes added, removed or relabeled since the bit sets were last built
+    private void recordChanges(HashMap<String, Set<LabelAtom>> oldAtomsByNode) {
+        for (Map.Entry<String, Set<LabelAtom>> entry : atomsByNode.entrySet()) {
+            Set<LabelAtom> oldAtoms = oldAtomsByNode.remove(entry.getKey());
+            if (!entry.getValue().equals(oldAtoms)) {
+                ChangeLog.get().nodeChanged(entry.getKey(), oldAtoms, entry.getValue());
+            }
+        }
+        for (Map.Entry<String, Set<LabelAtom>> entry : oldAtomsByNode.entrySet()) {
+            ChangeLog.get().nodeChanged(entry.getKey(), entry.getValue(), null);
+        }
+    }
+
+    private static List<Node> listNodes() {
+        Jenkins jenkins = Jenkins.getInstance();
+        List<Node> result = new ArrayList<Node>();
+        // do not forget master node!
+        result.add(jenkins);
+        result.addAll(jenkins.getNodes());
+        Collections.sort(result, NODE_ORDER);
+        return result;
+    }
+
+    // online nodes matching a label, along with this label to evaluate it again
+    private static final class OnlineCount {
+        final Label label;
+        int count;
+
+        OnlineCount(Label label, int count) {
+            this.label = label;
+            this.count = count;
+        }
+    }
+
+    /**
+     * The nodes matching a label that is not cached, see {@link NodeMatchCache#evaluate(Label)}
+     */
+    public static final class Evaluation {
+        private final Label label;
+        private final List<Node> nodes = new ArrayList<Node>();
+        private final Set<LabelAtom> nodesAtoms = new HashSet<LabelAtom>();
+        private BitSet matching;
+        private long buildCount;
+
+        // called with the lock of cache held
+        private Evaluation(Label label, NodeMatchCache cache) {
+            this.label = label;
+            update(cache);
+            for (int i = matching.nextSetBit(0); i >= 0; i = matching.nextSetBit(i + 1)) {
+                Node node = cache.nodes.get(i);
+                nodes.add(node);
+                nodesAtoms.addAll(cache.atomsByNode.get(node.getNodeName()));
+            }
+        }
+
+        /**
+         * @return all nodes, including master, matching the label
+         */
+        public List<Node> getNodes() {
+            return nodes;
+        }
+
+        /**
+         * @return the labels of these nodes
+         */
+        public Set<LabelAtom> getNodesAtoms() {
+            return nodesAtoms;
+        }
+
+        // the bit set in the current numbering of the nodes, evaluated again if nodes changed
+        private BitSet getMatching(NodeMatchCache cache) {
+            if (buildCount != cache.buildCount) {
+                update(cache);
+            }
+            return matching;
+        }
+
+        private void update(NodeMatchCache cache) {
+            LabelProgram program;
+            try {
+                // not through CanonicalLabels, which would keep this label
+                program = LabelProgram.compile(label);
+            }
+            catch (RuntimeException e) {
+                program = null;
+            }
+            matching = cache.evaluate(label, program);
+            buildCount = cache.buildCount;
+        }
+    }
+
+    /**
+     * The nodes matching each label, before and after simulated changes of the nodes.
+     * <p>
+     * It shares the bit sets of the cache as of its creation: these are never modified once
+     * built, since the cache builds new ones when nodes change. The bit set of an atom is
+     * only copied the first time a change adds it to, or removes it from, a node, and labels
+     * using none of the changed atoms keep their results from before the changes, unless
+     * nodes were removed. Not thread-safe, to be used by a single request.
+     */
+    public static final class Overlay {
+
+        private final List<Node> nodes;
+        private final HashMap<String, Integer> nodeIndexes;
+        private final BitSet allNodes;
+        // before the changes
+        private final HashMap<String, Set<LabelAtom>> atomsByNode;
+        private final HashMap<LabelAtom, BitSet> nodesByAtom;
+        // nodes matching each label before the changes, by canonical form
+        private final HashMap<String, BitSet> nodesByLabel;
+
+        // after the changes, bit sets and atom sets are copied on write
+        private final BitSet remainingNodes;
+        private final HashMap<String, Set<LabelAtom>> newAtomsByNode;
+        private final HashMap<LabelAtom, BitSet> newNodesByAtom;
+        private final HashSet<String> changedNodes = new HashSet<String>();
+        private final HashSet<LabelAtom> changedAtoms = new HashSet<LabelAtom>();
+        private final HashMap<String, BitSet> newNodesByLabel = new HashMap<String, BitSet>();
+
+        private Overlay(NodeMatchCache cache) {
+            nodes = new ArrayList<Node>(cache.nodes);
+            nodeIndexes = new HashMap<String, Integer>(cache.nodeIndexes);
+            allNodes = (BitSet) cache.allNodes.clone();
+            atomsByNode = new HashMap<String, Set<LabelAtom>>(cache.atomsByNode);
+            nodesByAtom = new HashMap<LabelAtom, BitSet>(cache.nodesByAtom);
+            nodesByLabel = new HashMap<String, BitSet>(cache.nodesByLabel);
+            remainingNodes = (BitSet) allNodes.clone();
+            newAtomsByNode = new HashMap<String, Set<LabelAtom>>(atomsByNode);
+            newNodesByAtom = new HashMap<LabelAtom, BitSet>(nodesByAtom);
+        }
+
+        /**
+         * @return true if this node exists and was not removed
+         */
+        public boolean hasNode(String nodeName) {
+            Integer index = nodeIndexes.get(nodeName);
+            return index != null && remainingNodes.get(index);
+        }
+
+        /**
+         * @throws IllegalArgumentException if this node does not exist or was removed
+         */
+        public void addAtom(String nodeName, LabelAtom atom) {
+            int index = getIndex(nodeName);
+            if (getNewAtoms(nodeName).add(atom)) {
+                getNewNodes(atom).set(index);
+            }
+        }
+
+        /**
+         * @throws IllegalArgumentException if this node does not exist or was removed
+         */
+        public void removeAtom(String nodeName, LabelAtom atom) {
+            int index = getIndex(nodeName);
+            if (getNewAtoms(nodeName).remove(atom)) {
+                getNewNodes(atom).clear(index);
+            }
+        }
+
+        /**
+         * @throws IllegalArgumentException if this node does not exist or was removed
+         */
+        public void removeNode(String nodeName) {
+            int index = getIndex(nodeName);
+            for (LabelAtom atom : getNewAtoms(nodeName)) {
+                getNewNodes(atom).clear(index);
+            }
+            remainingNodes.clear(index);
+        }
+
+        /**
+         * @return the nodes matching this label before the changes
+         */
+        public BitSet getMatchingBefore(Label label) {
+            LabelProgram program = CanonicalLabels.program(label);
+            String key = key(label, program);
+            BitSet matching = nodesByLabel.get(key);
+            if (matching == null) {
+                matching = evaluate(label, program, nodesByAtom, allNodes, atomsByNode);
+                nodesByLabel.put(key, matching);
+            }
+            return matching;
+        }
+
+        /**
+         * @return the nodes matching this label after the changes
+         */
+        public BitSet getMatchingAfter(Label label) {
+            if (remainingNodes.equals(allNodes) && !usesChangedAtom(label)) {
+                // nothing this label depends on has changed
+                return getMatchingBefore(label);
+            }
+            LabelProgram program = CanonicalLabels.program(label);
+            String key = key(label, program);
+            BitSet matching = newNodesByLabel.get(key);
+            if (matching == null) {
+                matching = evaluate(label, program, newNodesByAtom, remainingNodes, newAtomsByNode);
+                newNodesByLabel.put(key, matching);
+            }
+            return matching;
+        }
+
+        public Node getNode(int index) {
+            return nodes.get(index);
+        }
+
+        private boolean usesChangedAtom(Label label) {
+            if (changedAtoms.isEmpty()) {
+                return false;
+            }
+            for (LabelAtom atom : label.listAtoms()) {
+                if (changedAtoms.contains(atom)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private BitSet evaluate(Label label, LabelProgram program, Map<LabelAtom, BitSet> byAtom, BitSet all,
+                Map<String, Set<LabelAtom>> byNode) {
+            if (program != null) {
+                return program.evaluate(byAtom, all);
+            }
+            // not a label expression known by the cache, match it node by node
+            BitSet matching = new BitSet();
+            for (int i = all.nextSetBit(0); i >= 0; i = all.nextSetBit(i + 1)) {
+                if (label.matches(byNode.get(nodes.get(i).getNodeName()))) {
+                    matching.set(i);
+                }
+            }
+            return matching;
+        }
+
+        private int getIndex(String nodeName) {
+            if (!hasNode(nodeName)) {
+                throw new IllegalArgumentException("Unknown node: " + nodeName);
+            }
+            // results after the changes have to be evaluated again
+            newNodesByLabel.clear();
+            return nodeIndexes.get(nodeName);
+        }
+
+        private Set<LabelAtom> getNewAtoms(String nodeName) {
+            if (changedNodes.add(nodeName)) {
+                newAtomsByNode.put(nodeName, new HashSet<LabelAtom>(atomsByNode.get(nodeName)));
+            }
+            return newAtomsByNode.get(nodeName);
+        }
+
+        private BitSet getNewNodes(LabelAtom atom) {
+            if (changedAtoms.add(atom)) {
+                BitSet atomNodes = nodesByAtom.get(atom);
+                newNodesByAtom.put(atom, atomNodes == null ? new BitSet() : (BitSet) atomNodes.clone());
+            }
+            return newNodesByAtom.get(atom);
+        }
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * The MIT License
+ * 
+ * Copyright (C) 2026 Dominique Brice
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is furnished
+ * to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package jenkins.plugins.linkedjobs.helpers;
+
+import hudson.model.Label;
+import hudson.model.Node;
+import hudson.model.labels.LabelAtom;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import javax.servlet.ServletException;
+
+import jenkins.model.Jenkins;
+import jenkins.plugins.linkedjobs.model.JobsGroup;
+
+import org.kohsuke.stapler.HttpResponse;
+import org.kohsuke.stapler.StaplerRequest;
+import org.kohsuke.stapler.StaplerResponse;
+
+/**
+ * Writes the linked jobs of all nodes as NDJSON, one line per node, sorted by name,
+ * master first. See README.md for the schema.
+ * <p>
+ * Jobs are grouped by label once for all nodes, and each group already knows the nodes
+ * matching its label from {@link NodeMatchCache}: this node x label matrix is inverted
+ * to find the groups of each node, instead of building the Linked Jobs page of each node.
+ * Each group is serialized once, even when many nodes share it.
+ */
+public class NodesReportWriter implements HttpResponse {
+
+    private static final Comparator<Node> NODE_ORDER = new Comparator<Node>() {
+        public int compare(Node n1, Node n2) {
+            return n1.getNodeName().compareTo(n2.getNodeName());
+        }
+    };
+
+    private final List<JobsGroup> groups;
+
+    /**
+     * @param groups groups of jobs of all labels, sorted, as shown by the Linked Jobs pages
+     */
+    public NodesReportWriter(List<JobsGroup> groups) {
+        this.groups = groups;
+    }
+
+    public void generateResponse(StaplerRequest req, StaplerResponse rsp, Object node) throws IOException, ServletException {
+        rsp.setContentType("application/x-ndjson;charset=UTF-8");
+        Writer w = rsp.getCompressedWriter(req);
+        write(w);
+        w.close();
+    }
+
+    public void write(Writer w) throws IOException {
+        // groups of each node, in the order of the groups, by node name
+        HashMap<String, List<JobsGroup>> groupsByNode = new HashMap<String, List<JobsGroup>>();
+        for (JobsGroup group : groups) {
+            for (Node node : group.getNodes()) {
+                List<JobsGroup> nodeGroups = groupsByNode.get(node.getNodeName());
+                if (nodeGroups == null) {
+                    nodeGroups = new ArrayList<JobsGroup>();
+                    groupsByNode.put(node.getNodeName(), nodeGroups);
+                }
+                nodeGroups.add(group);
+            }
+        }
+
+        IdentityHashMap<JobsGroup, String> serializedGroups = new IdentityHashMap<JobsGroup, String>();
+        for (Node node : listNodes()) {
+            w.write("{\"name\":");
+            LabelsDataJsonWriter.writeString(w, node.getNodeName());
+            w.write(",\"labels\":[");
+            boolean first = true;
+            for (String label : getNodeLabels(node)) {
+                if (!first) {
+                    w.write(',');
+                }
+                first = false;
+                LabelsDataJsonWriter.writeString(w, label);
+            }
+            w.write("],\"linkedJobs\":[");
+            List<JobsGroup> nodeGroups = groupsByNode.get(node.getNodeName());
+            if (nodeGroups != null) {
+                for (int i = 0; i < nodeGroups.size(); i++) {
+                    if (i > 0) {
+                        w.write(',');
+                    }
+                    JobsGroup group = nodeGroups.get(i);
+                    String serialized = serializedGroups.get(group);
+                    if (serialized == null) {
+                        serialized = serialize(group);
+                        serializedGroups.put(group, serialized);
+                    }
+                    w.write(serialized);
+                }
+            }
+            w.write("]}\n");
+        }
+    }
+
+    private static String serialize(JobsGroup group) throws IOException {
+        StringWriter w = new StringWriter();
+        w.write("{\"label\":");
+        LabelsDataJsonWriter.writeString(w, group.getLabel());
+        // can only run on this node, see the Linked Jobs page of a node
+        w.write(",\"exclusive\":");
+        w.write(Boolean.toString(group.isSingleNode()));
+        w.write(",\"jobs\":");
+        LabelsDataJsonWriter.writeJobs(w, group.getJobs());
+        w.write(",\"triggeredJobs\":");
+        LabelsDataJsonWriter.writeTriggeredJobs(w, group.getTriggeredJobs());
+        w.write(",\"jobsWithLabelDefaultValue\":");
+        LabelsDataJsonWriter.writeJobs(w, group.getJobsWithLabelDefaultValue());
+        w.write('}');
+        return w.toString();
+    }
+
+    // static labels, not dynamic labels nor the self label, like the Linked Jobs page of a node
+    private static Set<String> getNodeLabels(Node node) {
+        TreeSet<String> result = new TreeSet<String>();
+        for (LabelAtom label : Label.parse(node.getLabelString())) {
+            if (!node.getSelfLabel().equals(label)) {
+                result.add(label.getName());
+            }
+        }
+        return result;
+    }
+
+    private static List<Node> listNodes() {
+        Jenkins jenkins = Jenkins.getInstance();
+        List<Node> result = new ArrayList<Node>();
+        result.add(jenkins);
+        result.addAll(jenkins.getNodes());
+        Collections.sort(result, NODE_ORDER);
+        return result;
+    }
+}
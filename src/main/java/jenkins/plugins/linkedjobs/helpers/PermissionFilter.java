@@ -0,0 +1,162 @@
+/*
+ * The MIT License
+ * 
+ * Copyright (C) 2026 Dominique Brice
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is furnished
+ * to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package jenkins.plugins.linkedjobs.helpers;
+
+import hudson.model.Item;
+import hudson.model.ItemGroup;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import jenkins.model.Jenkins;
+
+import org.acegisecurity.Authentication;
+import org.acegisecurity.GrantedAuthority;
+
+/**
+ * The indexes of this plugin are computed as {@link hudson.security.ACL#SYSTEM}, once for
+ * everyone. This class filters them for the current user, like Jenkins.getAllItems() would:
+ * an item is visible if the user can read it and all the folders containing it.
+ * <p>
+ * Decisions are cached per user, so that each folder and each job is only checked once
+ * by all the pages a user opens. They are all dropped when the security configuration or the
+ * configuration of a folder is saved, only the ones of an item when its configuration is saved,
+ * and after {@link #TTL} at most, for what changes without any save, e.g. permissions granted
+ * by an external user directory.
+ */
+public class PermissionFilter {
+
+    static final long TTL = TimeUnit.MINUTES.toMillis(1);
+
+    // by user, see getUserKey()
+    private static final ConcurrentHashMap<String, Decisions> DECISIONS = new ConcurrentHashMap<String, Decisions>();
+
+    private PermissionFilter() {
+    }
+
+    /**
+     * @return true if the current user can see this item
+     */
+    public static boolean canRead(Item item) {
+        return getDecisions().canRead(item);
+    }
+
+    /**
+     * Remove from this list the items the current user can't see
+     * @return the same list
+     */
+    public static <T extends Item> List<T> filterReadable(List<T> items) {
+        Decisions decisions = getDecisions();
+        for (Iterator<T> i = items.iterator(); i.hasNext();) {
+            if (!decisions.canRead(i.next())) {
+                i.remove();
+            }
+        }
+        return items;
+    }
+
+    /**
+     * Drop all decisions, to be called when permissions may have changed
+     */
+    public static void invalidate() {
+        DECISIONS.clear();
+    }
+
+    /**
+     * Drop the decisions about this item only, to be called when its own permissions may
+     * have changed. Not for folders, whose permissions also apply to the items they contain
+     */
+    public static void forget(Item item) {
+        for (Decisions decisions : DECISIONS.values()) {
+            decisions.byItem.remove(item);
+        }
+    }
+
+    /**
+     * @return identifies the current user and its groups, since permissions
+     * may be granted to either of them
+     */
+    static String getUserKey() {
+        Authentication auth = Jenkins.getAuthentication();
+        if (auth == null) {
+            return "";
+        }
+        StringBuilder key = new StringBuilder();
+        key.append(auth.getName()).append('\n');
+        GrantedAuthority[] authorities = auth.getAuthorities();
+        if (authorities != null) {
+            String[] names = new String[authorities.length];
+            for (int i = 0; i < authorities.length; i++) {
+                names[i] = authorities[i].getAuthority();
+            }
+            Arrays.sort(names);
+            for (String name : names) {
+                key.append(name).append(',');
+            }
+        }
+        return key.toString();
+    }
+
+    private static Decisions getDecisions() {
+        String key = getUserKey();
+        long now = System.currentTimeMillis();
+        Decisions decisions = DECISIONS.get(key);
+        if (decisions == null || now - decisions.createdAt > TTL) {
+            decisions = new Decisions(now);
+            DECISIONS.put(key, decisions);
+            // also forget users who did not come back
+            for (Map.Entry<String, Decisions> entry : DECISIONS.entrySet()) {
+                if (now - entry.getValue().createdAt > TTL) {
+                    DECISIONS.remove(entry.getKey(), entry.getValue());
+                }
+            }
+        }
+        return decisions;
+    }
+
+    private static final class Decisions {
+        final long createdAt;
+        private final ConcurrentHashMap<Item, Boolean> byItem = new ConcurrentHashMap<Item, Boolean>();
+
+        Decisions(long createdAt) {
+            this.createdAt = createdAt;
+        }
+
+        boolean canRead(Item item) {
+            Boolean decision = byItem.get(item);
+            if (decision == null) {
+                ItemGroup<?> parent = item.getParent();
+                // each folder is checked once for all the jobs it contains
+                decision = (!(parent instanceof Item) || canRead((Item) parent)) && item.hasPermission(Item.READ);
+                byItem.put(item, decision);
+            }
+            return decision;
+        }
+    }
+}
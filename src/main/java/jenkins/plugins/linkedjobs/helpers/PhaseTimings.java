@@ -0,0 +1,222 @@
+/*
+ * The MIT License
+ * 
+ * Copyright (C) 2026 Dominique Brice
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is furnished
+ * to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package jenkins.plugins.linkedjobs.helpers;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import net.sf.json.JSONObject;
+
+import org.kohsuke.stapler.Stapler;
+import org.kohsuke.stapler.StaplerRequest;
+
+/**
+ * Timings of each phase of the computation and display of the pages of this plugin,
+ * exposed by labelsdashboard/metrics.
+ * <p>
+ * For each page and phase, the durations of the last {@link #SAMPLES} displays are kept
+ * to compute percentiles, along with the total number of displays.
+ */
+public class PhaseTimings {
+
+    public enum Phase {
+        ITEM_SCAN("itemScan"),
+        TRIGGER_SCAN("triggerScan"),
+        DEFAULT_VALUE_SCAN("defaultValueScan"),
+        NODE_MATCHING("nodeMatching"),
+        CLOUD_MATCHING("cloudMatching"),
+        SORT("sort"),
+        RENDER("render");
+
+        private final String key;
+
+        Phase(String key) {
+            this.key = key;
+        }
+    }
+
+    // pages
+    public static final String DASHBOARD = "dashboard";
+    public static final String LINKED_JOBS = "linkedJobs";
+    public static final String NODES_REPORT = "nodesReport";
+
+    static final int SAMPLES = 1024;
+    private static final String RENDER_START = PhaseTimings.class.getName() + ".renderStart";
+    private static final PhaseTimings INSTANCE = new PhaseTimings();
+
+    // by page, then by phase
+    private final ConcurrentHashMap<String, Histogram[]> histograms = new ConcurrentHashMap<String, Histogram[]>();
+
+    public static PhaseTimings get() {
+        return INSTANCE;
+    }
+
+    /**
+     * @param page the page being computed
+     * @return a new timer, to be used by a single thread
+     */
+    public Timer newTimer(String page) {
+        return new Timer(page);
+    }
+
+    public void record(String page, Phase phase, long nanos) {
+        Histogram[] pageHistograms = histograms.get(page);
+        if (pageHistograms == null) {
+            pageHistograms = new Histogram[Phase.values().length];
+            for (int i = 0; i < pageHistograms.length; i++) {
+                pageHistograms[i] = new Histogram();
+            }
+            Histogram[] existing = histograms.putIfAbsent(page, pageHistograms);
+            if (existing != null) {
+                pageHistograms = existing;
+            }
+        }
+        pageHistograms[phase.ordinal()].add(nanos);
+    }
+
+    /**
+     * Called once the data of a page is computed: the rest of the request is rendering
+     */
+    public static void renderStarted() {
+        StaplerRequest req = Stapler.getCurrentRequest();
+        if (req != null) {
+            req.setAttribute(RENDER_START, System.nanoTime());
+        }
+    }
+
+    /**
+     * Called at the end of the jelly view of a page
+     */
+    public static void renderDone(String page) {
+        StaplerRequest req = Stapler.getCurrentRequest();
+        if (req == null || !(req.getAttribute(RENDER_START) instanceof Long)) {
+            return;
+        }
+        INSTANCE.record(page, Phase.RENDER, System.nanoTime() - (Long) req.getAttribute(RENDER_START));
+        req.setAttribute(RENDER_START, null);
+    }
+
+    /**
+     * @return for each page and phase: number of displays and percentiles of the durations
+     * of the last displays, in milliseconds
+     */
+    public JSONObject toJSON() {
+        JSONObject result = new JSONObject();
+        for (Map.Entry<String, Histogram[]> page : new TreeMap<String, Histogram[]>(histograms).entrySet()) {
+            JSONObject phases = new JSONObject();
+            for (Phase phase : Phase.values()) {
+                Histogram histogram = page.getValue()[phase.ordinal()];
+                if (histogram.getCount() > 0) {
+                    phases.element(phase.key, histogram.toJSON());
+                }
+            }
+            result.element(page.getKey(), phases);
+        }
+        return result;
+    }
+
+    /**
+     * Accumulates the time spent in each phase while a page is computed. When a phase is
+     * started inside another one, the outer phase is paused until the inner one stops.
+     */
+    public static final class Timer {
+        private final String page;
+        private final long[] nanos = new long[Phase.values().length];
+        private final boolean[] started = new boolean[Phase.values().length];
+        private final ArrayDeque<Phase> running = new ArrayDeque<Phase>();
+        private long since;
+
+        private Timer(String page) {
+            this.page = page;
+        }
+
+        public void start(Phase phase) {
+            long now = System.nanoTime();
+            if (!running.isEmpty()) {
+                nanos[running.peek().ordinal()] += now - since;
+            }
+            running.push(phase);
+            started[phase.ordinal()] = true;
+            since = now;
+        }
+
+        public void stop() {
+            long now = System.nanoTime();
+            nanos[running.pop().ordinal()] += now - since;
+            since = now;
+        }
+
+        // one sample per phase that was started
+        public void record() {
+            for (Phase phase : Phase.values()) {
+                if (started[phase.ordinal()]) {
+                    INSTANCE.record(page, phase, nanos[phase.ordinal()]);
+                }
+            }
+        }
+    }
+
+    static final class Histogram {
+        // ring buffer of the last samples
+        private final long[] samples = new long[SAMPLES];
+        private int next = 0;
+        private long count = 0;
+
+        synchronized void add(long nanos) {
+            samples[next] = nanos;
+            next = (next + 1) % SAMPLES;
+            count++;
+        }
+
+        synchronized long getCount() {
+            return count;
+        }
+
+        synchronized JSONObject toJSON() {
+            long[] sorted = Arrays.copyOf(samples, (int) Math.min(count, SAMPLES));
+            Arrays.sort(sorted);
+            JSONObject result = new JSONObject();
+            result.element("count", count);
+            result.element("p50", percentile(sorted, 50));
+            result.element("p95", percentile(sorted, 95));
+            result.element("p99", percentile(sorted, 99));
+            result.element("max", toMillis(sorted[sorted.length - 1]));
+            return result;
+        }
+
+        // nearest-rank percentile, in milliseconds
+        private static double percentile(long[] sorted, int percentile) {
+            int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+            return toMillis(sorted[Math.max(0, rank - 1)]);
+        }
+
+        private static double toMillis(long nanos) {
+            return nanos / 1000000.0;
+        }
+    }
+}
@@ -0,0 +1,197 @@
+/*
+ * The MIT License
+ * 
+ * Copyright (C) 2026 Dominique Brice
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is furnished
+ * to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package jenkins.plugins.linkedjobs.helpers;
+
+import hudson.model.AbstractProject;
+import hudson.model.Label;
+import hudson.model.Node;
+import hudson.model.labels.LabelAtom;
+import hudson.slaves.Cloud;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+import javax.servlet.ServletException;
+
+import jenkins.model.Jenkins;
+
+import org.kohsuke.stapler.HttpResponse;
+import org.kohsuke.stapler.StaplerRequest;
+import org.kohsuke.stapler.StaplerResponse;
+
+import antlr.ANTLRException;
+
+/**
+ * Writes the nodes, clouds and jobs matching a label expression as JSON. See README.md
+ * for the schema. Nodes and jobs can be paged with offset and limit.
+ * <p>
+ * Nothing is scanned: the matching nodes come from {@link NodeMatchCache}, and the labels
+ * of the jobs that may run on them are looked up in {@link LabelJobsIndex} by the atoms
+ * of these nodes, before their own nodes are compared with the matching nodes.
+ * <p>
+ * The expression comes from the request, so it is evaluated without being cached
+ * anywhere, unlike the labels of jobs.
+ */
+public class QueryJsonWriter implements HttpResponse {
+
+    private final Label label;
+    private final NodeMatchCache.Evaluation evaluation;
+    private final int offset;
+    private final int limit;
+
+    private final List<Node> nodes;
+    private final List<Cloud> clouds;
+    private final List<Entry> jobs = new ArrayList<Entry>();
+
+    /**
+     * @param expr label expression
+     * @param offset number of nodes and jobs to skip, null for 0
+     * @param limit maximum number of nodes and jobs to write, null for no limit
+     * @throws IllegalArgumentException if expr is not a valid label expression, or offset/limit
+     * is not a positive number
+     */
+    public QueryJsonWriter(String expr, String offset, String limit) {
+        this.label = parseExpression(expr);
+        this.offset = LabelsDataJsonWriter.parsePositive("offset", offset, 0);
+        this.limit = LabelsDataJsonWriter.parsePositive("limit", limit, Integer.MAX_VALUE);
+        this.evaluation = NodeMatchCache.get().evaluate(label);
+        this.nodes = evaluation.getNodes();
+        this.clouds = getProvisioningClouds(label);
+        findJobs();
+    }
+
+    public void generateResponse(StaplerRequest req, StaplerResponse rsp, Object node) throws IOException, ServletException {
+        rsp.setContentType("application/json;charset=UTF-8");
+        Writer w = rsp.getCompressedWriter(req);
+        write(w);
+        w.close();
+    }
+
+    public void write(Writer w) throws IOException {
+        w.write("{\"status\":\"ok\",\"expr\":");
+        LabelsDataJsonWriter.writeString(w, label.getExpression());
+        w.write(",\"offset\":");
+        w.write(Integer.toString(offset));
+        w.write(",\"nodes\":{\"total\":");
+        w.write(Integer.toString(nodes.size()));
+        w.write(",\"data\":[");
+        int from = Math.min(offset, nodes.size());
+        int to = (int) Math.min((long) from + limit, nodes.size());
+        for (int i = from; i < to; i++) {
+            if (i > from) {
+                w.write(',');
+            }
+            LabelsDataJsonWriter.writeString(w, nodes.get(i).getNodeName());
+        }
+        w.write("]},\"clouds\":[");
+        for (int i = 0; i < clouds.size(); i++) {
+            if (i > 0) {
+                w.write(',');
+            }
+            LabelsDataJsonWriter.writeString(w, clouds.get(i).getDisplayName());
+        }
+        w.write("],\"jobs\":{\"total\":");
+        w.write(Integer.toString(jobs.size()));
+        w.write(",\"data\":[");
+        from = Math.min(offset, jobs.size());
+        to = (int) Math.min((long) from + limit, jobs.size());
+        for (int i = from; i < to; i++) {
+            if (i > from) {
+                w.write(',');
+            }
+            Entry entry = jobs.get(i);
+            w.write("{\"job\":");
+            LabelsDataJsonWriter.writeJob(w, entry.job);
+            w.write(",\"label\":");
+            LabelsDataJsonWriter.writeString(w, entry.label.getExpression());
+            w.write(",\"match\":");
+            LabelsDataJsonWriter.writeString(w, entry.implies ? "implies" : "overlaps");
+            w.write('}');
+        }
+        w.write("]}}");
+    }
+
+    private void findJobs() {
+        if (nodes.isEmpty()) {
+            return;
+        }
+        // a label matching one of these nodes either uses one of its atoms, or matches no atom at all
+        LabelJobsIndex index = LabelJobsIndex.get();
+        HashSet<Label> candidates = new HashSet<Label>(index.getLabelsMatchingNoAtom());
+        for (LabelAtom atom : evaluation.getNodesAtoms()) {
+            candidates.addAll(index.getLabels(atom));
+        }
+        Map<Label, Boolean> overlapping = NodeMatchCache.get().getOverlappingLabels(evaluation, candidates);
+        List<Label> labels = new ArrayList<Label>(overlapping.keySet());
+        Collections.sort(labels);
+        for (Label jobLabel : labels) {
+            for (AbstractProject<?, ?> job : index.getJobs(jobLabel)) {
+                jobs.add(new Entry(job, jobLabel, overlapping.get(jobLabel)));
+            }
+        }
+    }
+
+    // not through CloudProvisioningCache, which would keep the result
+    private static List<Cloud> getProvisioningClouds(Label label) {
+        List<Cloud> result = new ArrayList<Cloud>();
+        for (Cloud c : Jenkins.getInstance().clouds) {
+            if (c.canProvision(label)) {
+                result.add(c);
+            }
+        }
+        return result;
+    }
+
+    private static Label parseExpression(String expr) {
+        if (expr == null || expr.trim().length() == 0) {
+            throw new IllegalArgumentException("Missing expr");
+        }
+        try {
+            return Label.parseExpression(expr);
+        }
+        catch (ANTLRException e) {
+            throw new IllegalArgumentException("Invalid expr: " + expr);
+        }
+    }
+
+    // a job whose label matches at least one of the matching nodes
+    private static final class Entry {
+        final AbstractProject<?, ?> job;
+        final Label label;
+        // true if all the nodes matching the label of the job match the expression
+        final boolean implies;
+
+        Entry(AbstractProject<?, ?> job, Label label, boolean implies) {
+            this.job = job;
+            this.label = label;
+            this.implies = implies;
+        }
+    }
+}
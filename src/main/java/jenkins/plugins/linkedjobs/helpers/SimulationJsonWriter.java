@@ -0,0 +1,238 @@
+/*
+ * The MIT License
+ * 
+ * Copyright (C) 2026 Dominique Brice
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is furnished
+ * to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package jenkins.plugins.linkedjobs.helpers;
+
+import hudson.model.AbstractProject;
+import hudson.model.Label;
+import hudson.model.Node;
+import hudson.model.labels.LabelAtom;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.servlet.ServletException;
+
+import org.kohsuke.stapler.HttpResponse;
+import org.kohsuke.stapler.StaplerRequest;
+import org.kohsuke.stapler.StaplerResponse;
+
+/**
+ * Simulates changes of the labels of nodes, and writes how jobs would be affected as JSON.
+ * See README.md for the syntax of the changes and the schema.
+ * <p>
+ * Changes are applied to a {@link NodeMatchCache.Overlay}, so nothing is changed in the
+ * configuration, and only the labels using a changed atom are evaluated again. Jobs are
+ * only looked up for the labels whose result changed.
+ */
+public class SimulationJsonWriter implements HttpResponse {
+
+    // name of the master node in changes, since its real name is the empty string
+    static final String MASTER = "(master)";
+
+    private final NodeMatchCache.Overlay overlay = NodeMatchCache.get().overlay();
+    // label atoms of each simulated cloud
+    private final List<Set<LabelAtom>> clouds = new ArrayList<Set<LabelAtom>>();
+
+    private final List<Entry> orphanedAdded = new ArrayList<Entry>();
+    private final List<Entry> orphanedRemoved = new ArrayList<Entry>();
+    private final List<Entry> singleNodeAdded = new ArrayList<Entry>();
+    private final List<Entry> singleNodeRemoved = new ArrayList<Entry>();
+    private final List<Entry> newlyMatched = new ArrayList<Entry>();
+
+    /**
+     * @param changes changes to simulate, one per line
+     * @throws IllegalArgumentException if a change is invalid, or refers to an unknown node
+     */
+    public SimulationJsonWriter(String changes) {
+        parseChanges(changes);
+        simulate();
+    }
+
+    public void generateResponse(StaplerRequest req, StaplerResponse rsp, Object node) throws IOException, ServletException {
+        rsp.setContentType("application/json;charset=UTF-8");
+        Writer w = rsp.getCompressedWriter(req);
+        write(w);
+        w.close();
+    }
+
+    public void write(Writer w) throws IOException {
+        w.write("{\"status\":\"ok\",\"orphanedJobs\":{\"added\":");
+        writeEntries(w, orphanedAdded);
+        w.write(",\"removed\":");
+        writeEntries(w, orphanedRemoved);
+        w.write("},\"singleNodeJobs\":{\"added\":");
+        writeEntries(w, singleNodeAdded);
+        w.write(",\"removed\":");
+        writeEntries(w, singleNodeRemoved);
+        w.write("},\"newlyMatchedJobs\":");
+        writeEntries(w, newlyMatched);
+        w.write('}');
+    }
+
+    private void parseChanges(String changes) {
+        if (changes == null) {
+            return;
+        }
+        for (String line : changes.split("\n")) {
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            String[] tokens = line.split("\\s+");
+            if ("node".equals(tokens[0]) && tokens.length > 2) {
+                String nodeName = nodeName(tokens[1]);
+                for (int i = 2; i < tokens.length; i++) {
+                    String token = tokens[i];
+                    if (token.length() > 1 && token.charAt(0) == '+') {
+                        overlay.addAtom(nodeName, new LabelAtom(token.substring(1)));
+                    }
+                    else if (token.length() > 1 && token.charAt(0) == '-') {
+                        overlay.removeAtom(nodeName, new LabelAtom(token.substring(1)));
+                    }
+                    else {
+                        throw new IllegalArgumentException("Invalid change: " + line);
+                    }
+                }
+            }
+            else if ("remove".equals(tokens[0]) && tokens.length == 2) {
+                overlay.removeNode(nodeName(tokens[1]));
+            }
+            else if ("cloud".equals(tokens[0]) && tokens.length > 1) {
+                Set<LabelAtom> atoms = new HashSet<LabelAtom>();
+                for (int i = 1; i < tokens.length; i++) {
+                    atoms.add(new LabelAtom(tokens[i]));
+                }
+                clouds.add(atoms);
+            }
+            else {
+                throw new IllegalArgumentException("Invalid change: " + line);
+            }
+        }
+    }
+
+    private void simulate() {
+        List<Label> labels = new ArrayList<Label>(LabelJobsIndex.get().getLabels());
+        Collections.sort(labels);
+        for (Label label : labels) {
+            BitSet before = overlay.getMatchingBefore(label);
+            BitSet after = overlay.getMatchingAfter(label);
+            BitSet gained = (BitSet) after.clone();
+            gained.andNot(before);
+            boolean orphanedBefore = before.isEmpty() && !CloudProvisioningCache.get().canProvision(label);
+            boolean orphanedAfter = after.isEmpty() && !CloudProvisioningCache.get().canProvision(label)
+                    && !canProvision(label);
+            Node singleNodeBefore = before.cardinality() == 1 ? overlay.getNode(before.nextSetBit(0)) : null;
+            Node singleNodeAfter = after.cardinality() == 1 ? overlay.getNode(after.nextSetBit(0)) : null;
+            if (orphanedBefore == orphanedAfter && singleNodeBefore == singleNodeAfter && gained.isEmpty()) {
+                continue;
+            }
+            List<AbstractProject<?, ?>> jobs = LabelJobsIndex.get().getJobs(label);
+            if (jobs.isEmpty()) {
+                continue;
+            }
+            if (orphanedAfter && !orphanedBefore) {
+                orphanedAdded.add(new Entry(label, jobs, new BitSet()));
+            }
+            else if (orphanedBefore && !orphanedAfter) {
+                orphanedRemoved.add(new Entry(label, jobs, new BitSet()));
+            }
+            if (singleNodeBefore != singleNodeAfter) {
+                if (singleNodeBefore != null) {
+                    singleNodeRemoved.add(new Entry(label, jobs, before));
+                }
+                if (singleNodeAfter != null) {
+                    singleNodeAdded.add(new Entry(label, jobs, after));
+                }
+            }
+            if (!gained.isEmpty()) {
+                newlyMatched.add(new Entry(label, jobs, gained));
+            }
+        }
+    }
+
+    // true if a simulated cloud can provision this label
+    private boolean canProvision(Label label) {
+        LabelProgram program = CanonicalLabels.program(label);
+        for (Set<LabelAtom> atoms : clouds) {
+            if (program == null ? label.matches(atoms) : program.matches(atoms)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private String nodeName(String name) {
+        String nodeName = MASTER.equals(name) ? "" : name;
+        if (!overlay.hasNode(nodeName)) {
+            throw new IllegalArgumentException("Unknown node: " + name);
+        }
+        return nodeName;
+    }
+
+    private void writeEntries(Writer w, List<Entry> entries) throws IOException {
+        w.write('[');
+        boolean first = true;
+        for (Entry entry : entries) {
+            for (AbstractProject<?, ?> job : entry.jobs) {
+                if (!first) {
+                    w.write(',');
+                }
+                first = false;
+                w.write("{\"job\":");
+                LabelsDataJsonWriter.writeJob(w, job);
+                w.write(",\"label\":");
+                LabelsDataJsonWriter.writeString(w, entry.label.getExpression());
+                w.write(",\"nodes\":[");
+                for (int i = entry.nodes.nextSetBit(0); i >= 0; i = entry.nodes.nextSetBit(i + 1)) {
+                    if (i != entry.nodes.nextSetBit(0)) {
+                        w.write(',');
+                    }
+                    LabelsDataJsonWriter.writeString(w, overlay.getNode(i).getNodeName());
+                }
+                w.write("]}");
+            }
+        }
+        w.write(']');
+    }
+
+    // jobs of a label affected by the changes, and the nodes to report with them
+    private static final class Entry {
+        final Label label;
+        final List<AbstractProject<?, ?>> jobs;
+        final BitSet nodes;
+
+        Entry(Label label, List<AbstractProject<?, ?>> jobs, BitSet nodes) {
+            this.label = label;
+            this.jobs = jobs;
+            this.nodes = nodes;
+        }
+    }
+}
@@ -0,0 +1,573 @@
+/*
+ * The MIT License
+ * 
+ * Copyright (C) 2026 Dominique Brice
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is furnished
+ * to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package jenkins.plugins.linkedjobs.helpers;
+
+import hudson.model.AbstractProject;
+import hudson.model.Item;
+import hudson.model.ItemGroup;
+import hudson.model.Items;
+import hudson.model.Label;
+import hudson.model.TopLevelItem;
+import hudson.security.ACL;
+import hudson.security.ACLContext;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import jenkins.model.Jenkins;
+import jenkins.util.Timer;
+import jenkins.plugins.linkedjobs.model.TriggeredJob;
+
+/**
+ * JENKINS-27588 - persistent graph of the jobs triggered with a given label, and of the
+ * jobs using a label as default value of their Label parameter.
+ * <p>
+ * The whole graph is only computed at startup or after all items are reloaded. Then, when the
+ * configuration of a job is saved, only the contributions of this job are computed again,
+ * along with the ones of the jobs triggering it, since what they contribute depends on
+ * the Label parameters of the triggered job. When jobs are created, renamed or moved,
+ * only the jobs whose trigger configuration names one of these jobs are computed again.
+ * <p>
+ * The graph is also saved to disk by {@link TriggerGraphStore}, so that after a restart only
+ * the jobs whose configuration changed in between are analyzed again.
+ * <p>
+ * Like {@link LabelJobsIndex}, the graph is computed as {@link ACL#SYSTEM}
+ * and filtered with the permissions of the current user when read.
+ */
+class TriggerGraph {
+
+    /**
+     * What the configuration of one job contributes to the graph
+     */
+    static final class JobTriggers {
+        // labels used to trigger other jobs, along with the triggered job.
+        // The triggered job is null when the label is used but no job is triggered
+        final List<Label> edgeLabels = new ArrayList<Label>();
+        final List<AbstractProject<?, ?>> edgeJobs = new ArrayList<AbstractProject<?, ?>>();
+        // all jobs listed in the trigger configuration, whatever the parameters
+        final Set<AbstractProject<?, ?>> triggeredJobs = new HashSet<AbstractProject<?, ?>>();
+        // labels used as default value of this job's Label parameters
+        final List<Label> defaultLabels = new ArrayList<Label>();
+        // names of the jobs listed in the trigger configuration, without their folders,
+        // whether they exist or not
+        final Set<String> referencedNames = new HashSet<String>();
+        // whether this job has a trigger configuration at all
+        boolean triggering = false;
+
+        void addEdge(Label label, AbstractProject<?, ?> triggeredJob) {
+            edgeLabels.add(label);
+            edgeJobs.add(triggeredJob);
+        }
+
+        // name is a job name as configured in the trigger configuration, possibly relative
+        void addReferencedName(String name) {
+            name = name.trim();
+            if (!name.isEmpty()) {
+                referencedNames.add(simpleName(name));
+            }
+        }
+
+        boolean isEmpty() {
+            return !triggering && defaultLabels.isEmpty();
+        }
+    }
+
+    // result of the full scan
+    private static final class ScanResult {
+        // all jobs, by full name
+        final LinkedHashMap<String, AbstractProject<?, ?>> jobs = new LinkedHashMap<String, AbstractProject<?, ?>>();
+        final LinkedHashMap<AbstractProject<?, ?>, JobTriggers> triggersByJob =
+                new LinkedHashMap<AbstractProject<?, ?>, JobTriggers>();
+        // triggering jobs restored from TriggerGraphStore instead of being analyzed
+        final List<AbstractProject<?, ?>> restoredTriggeringJobs = new ArrayList<AbstractProject<?, ?>>();
+        int analyzedCount = 0;
+    }
+
+    // contributions of all jobs, restored from what was stored on disk when the
+    // configuration of the job didn't change since, or analyzed again otherwise
+    private static final class ScanVisitor implements ItemTreeScanner.Visitor<ScanResult> {
+        private final Map<String, TriggerGraphStore.Entry> stored;
+
+        ScanVisitor(Map<String, TriggerGraphStore.Entry> stored) {
+            this.stored = stored;
+        }
+
+        public ScanResult newResult() {
+            return new ScanResult();
+        }
+
+        public void visit(AbstractProject<?, ?> job, ScanResult result) {
+            if (!(job instanceof TopLevelItem)) {
+                return;
+            }
+            result.jobs.put(job.getFullName(), job);
+            TriggerGraphStore.Entry entry = stored.get(job.getFullName());
+            JobTriggers triggers = entry != null && entry.isUpToDate(job) ? entry.restore() : null;
+            if (triggers == null) {
+                triggers = TriggeredJobsHelper.analyze(job);
+                result.analyzedCount++;
+            }
+            else if (triggers.triggering) {
+                result.restoredTriggeringJobs.add(job);
+            }
+            result.triggersByJob.put(job, triggers);
+        }
+
+        public void merge(ScanResult into, ScanResult from) {
+            into.jobs.putAll(from.jobs);
+            into.triggersByJob.putAll(from.triggersByJob);
+            into.restoredTriggeringJobs.addAll(from.restoredTriggeringJobs);
+            into.analyzedCount += from.analyzedCount;
+        }
+    }
+
+    private final HashMap<AbstractProject<?, ?>, JobTriggers> triggersByJob = new HashMap<AbstractProject<?, ?>, JobTriggers>();
+    // reverse of JobTriggers.triggeredJobs: the jobs triggering each job
+    private final HashMap<AbstractProject<?, ?>, Set<AbstractProject<?, ?>>> triggeringJobsByJob =
+            new HashMap<AbstractProject<?, ?>, Set<AbstractProject<?, ?>>>();
+    private boolean loaded = false;
+    // one full scan at a time, other readers wait for its result
+    private final Object scanLock = new Object();
+    // changes reported while a full scan is running, null when no scan is running
+    private List<Runnable> changesDuringScan = null;
+    // incremented by invalidate(), so that the result of a scan started before is dropped
+    private long scanGeneration = 0;
+    // the jobs whose trigger configuration names a job, by name of this job without its folders
+    private final HashMap<String, Set<AbstractProject<?, ?>>> triggeringJobsByName =
+            new HashMap<String, Set<AbstractProject<?, ?>>>();
+    // true when the graph changed since it was last saved to disk
+    private boolean dirty = false;
+    // one write at a time, since TriggerGraphStore always writes the same temporary file.
+    // Taken before the monitor of the graph, never while holding it
+    private final Object saveLock = new Object();
+
+    void load() {
+        ensureLoaded();
+    }
+
+    void populateTriggeredJobs(HashMap<Label, HashMap<AbstractProject<?, ?>, TriggeredJob>> triggeredJobsByLabel) {
+        ensureLoaded();
+        synchronized (this) {
+            for (Map.Entry<AbstractProject<?, ?>, JobTriggers> entry : triggersByJob.entrySet()) {
+                AbstractProject<?, ?> triggeringJob = entry.getKey();
+                JobTriggers triggers = entry.getValue();
+                if (triggers.edgeLabels.isEmpty() || !PermissionFilter.canRead(triggeringJob)) {
+                    continue;
+                }
+                for (int i = 0; i < triggers.edgeLabels.size(); i++) {
+                    // equivalent labels end up in the same group
+                    Label label = CanonicalLabels.canonical(triggers.edgeLabels.get(i));
+                    AbstractProject<?, ?> triggeredJob = triggers.edgeJobs.get(i);
+
+                    HashMap<AbstractProject<?, ?>, TriggeredJob> jobsTriggeredByCurrentLabel = triggeredJobsByLabel.get(label);
+                    if (jobsTriggeredByCurrentLabel == null) {
+                        // create data structure for this label in the result if it doesn't exist yet
+                        jobsTriggeredByCurrentLabel = new HashMap<AbstractProject<?, ?>, TriggeredJob>();
+                        triggeredJobsByLabel.put(label, jobsTriggeredByCurrentLabel);
+                    }
+                    if (triggeredJob == null || !PermissionFilter.canRead(triggeredJob)) {
+                        continue;
+                    }
+                    // associate triggered job to triggering job
+                    TriggeredJob triggeredJobData = jobsTriggeredByCurrentLabel.get(triggeredJob);
+                    if (triggeredJobData == null) {
+                        triggeredJobData = new TriggeredJob(triggeredJob, triggeringJob);
+                        jobsTriggeredByCurrentLabel.put(triggeredJob, triggeredJobData);
+                    }
+                    else {
+                        triggeredJobData.addTriggeringJob(triggeringJob);
+                    }
+                }
+            }
+        }
+    }
+
+    void populateJobsWithLabelDefaultValue(HashMap<Label, List<AbstractProject<?, ?>>> jobsByDefaultLabel) {
+        ensureLoaded();
+        synchronized (this) {
+            for (Map.Entry<AbstractProject<?, ?>, JobTriggers> entry : triggersByJob.entrySet()) {
+                AbstractProject<?, ?> job = entry.getKey();
+                if (entry.getValue().defaultLabels.isEmpty() || !PermissionFilter.canRead(job)) {
+                    continue;
+                }
+                for (Label defaultLabel : entry.getValue().defaultLabels) {
+                    Label label = CanonicalLabels.canonical(defaultLabel);
+                    List<AbstractProject<?, ?>> jobsForThisLabel = jobsByDefaultLabel.get(label);
+                    if (jobsForThisLabel == null) {
+                        jobsForThisLabel = new ArrayList<AbstractProject<?, ?>>();
+                        jobsByDefaultLabel.put(label, jobsForThisLabel);
+                    }
+                    jobsForThisLabel.add(job);
+                }
+            }
+        }
+    }
+
+    /**
+     * The configuration of this job was saved: compute again its contributions,
+     * and the ones of the jobs triggering it
+     */
+    synchronized void jobUpdated(final Item item) {
+        if (deferUntilLoaded(new Runnable() {
+            public void run() {
+                jobUpdated(item);
+            }
+        }) || !(item instanceof AbstractProject)) {
+            return;
+        }
+        dirty = true;
+        AbstractProject<?, ?> job = (AbstractProject<?, ?>) item;
+        try (ACLContext ctx = ACL.as(ACL.SYSTEM)) {
+            analyze(job);
+            Set<AbstractProject<?, ?>> triggeringJobs = triggeringJobsByJob.get(job);
+            if (triggeringJobs != null) {
+                for (AbstractProject<?, ?> triggeringJob : new ArrayList<AbstractProject<?, ?>>(triggeringJobs)) {
+                    analyze(triggeringJob);
+                }
+            }
+        }
+    }
+
+    /**
+     * An item was created or copied: analyze the new job(s)
+     */
+    synchronized void jobCreated(final Item item) {
+        if (deferUntilLoaded(new Runnable() {
+            public void run() {
+                jobCreated(item);
+            }
+        })) {
+            return;
+        }
+        dirty = true;
+        List<AbstractProject<?, ?>> newJobs = new ArrayList<AbstractProject<?, ?>>();
+        if (item instanceof AbstractProject) {
+            newJobs.add((AbstractProject<?, ?>) item);
+        }
+        else if (item instanceof ItemGroup) {
+            for (AbstractProject<?, ?> job : Items.getAllItems((ItemGroup<?>) item, AbstractProject.class)) {
+                newJobs.add(job);
+            }
+        }
+        try (ACLContext ctx = ACL.as(ACL.SYSTEM)) {
+            Set<AbstractProject<?, ?>> toAnalyze = new HashSet<AbstractProject<?, ?>>(newJobs);
+            // existing jobs may trigger the new job(s) by name
+            for (AbstractProject<?, ?> job : newJobs) {
+                addTriggeringJobs(job.getName(), toAnalyze);
+            }
+            for (AbstractProject<?, ?> job : toAnalyze) {
+                analyze(job);
+            }
+        }
+    }
+
+    /**
+     * An item was renamed or moved, this is also called for each item of a renamed folder:
+     * compute again the jobs naming it, which may now reference another job, and the item
+     * itself, whose relative job names may now reference other jobs
+     */
+    synchronized void jobRenamed(final Item item, final String oldFullName) {
+        if (deferUntilLoaded(new Runnable() {
+            public void run() {
+                jobRenamed(item, oldFullName);
+            }
+        })) {
+            return;
+        }
+        dirty = true;
+        Set<AbstractProject<?, ?>> toAnalyze = new HashSet<AbstractProject<?, ?>>();
+        addTriggeringJobs(simpleName(oldFullName), toAnalyze);
+        addTriggeringJobs(item.getName(), toAnalyze);
+        if (item instanceof AbstractProject && triggersByJob.containsKey(item)) {
+            toAnalyze.add((AbstractProject<?, ?>) item);
+        }
+        try (ACLContext ctx = ACL.as(ACL.SYSTEM)) {
+            for (AbstractProject<?, ?> job : toAnalyze) {
+                analyze(job);
+            }
+        }
+    }
+
+    private void addTriggeringJobs(String name, Set<AbstractProject<?, ?>> into) {
+        Set<AbstractProject<?, ?>> triggeringJobs = triggeringJobsByName.get(name);
+        if (triggeringJobs != null) {
+            into.addAll(triggeringJobs);
+        }
+    }
+
+    // "job" for "job", "folder/job" or "../job"
+    static String simpleName(String name) {
+        return name.substring(name.lastIndexOf('/') + 1);
+    }
+
+    /**
+     * An item was deleted: drop the contributions of the deleted job(s), and compute
+     * again the jobs that were triggering them
+     */
+    synchronized void jobDeleted(final Item item) {
+        if (deferUntilLoaded(new Runnable() {
+            public void run() {
+                jobDeleted(item);
+            }
+        })) {
+            return;
+        }
+        dirty = true;
+        List<AbstractProject<?, ?>> deletedJobs = new ArrayList<AbstractProject<?, ?>>();
+        String prefix = item.getFullName() + "/";
+        for (AbstractProject<?, ?> job : triggersByJob.keySet()) {
+            if (job == item || job.getFullName().startsWith(prefix)) {
+                deletedJobs.add(job);
+            }
+        }
+        for (AbstractProject<?, ?> job : triggeringJobsByJob.keySet()) {
+            if (job == item || job.getFullName().startsWith(prefix)) {
+                deletedJobs.add(job);
+            }
+        }
+
+        Set<AbstractProject<?, ?>> toAnalyze = new HashSet<AbstractProject<?, ?>>();
+        for (AbstractProject<?, ?> job : deletedJobs) {
+            recordChange(triggersByJob.get(job), null);
+            remove(job);
+            Set<AbstractProject<?, ?>> triggeringJobs = triggeringJobsByJob.remove(job);
+            if (triggeringJobs != null) {
+                toAnalyze.addAll(triggeringJobs);
+            }
+        }
+        toAnalyze.removeAll(deletedJobs);
+        try (ACLContext ctx = ACL.as(ACL.SYSTEM)) {
+            for (AbstractProject<?, ?> job : toAnalyze) {
+                analyze(job);
+            }
+        }
+    }
+
+    synchronized void invalidate() {
+        triggersByJob.clear();
+        triggeringJobsByJob.clear();
+        triggeringJobsByName.clear();
+        loaded = false;
+        scanGeneration++;
+        dirty = false;
+        ChangeLog.get().reset();
+    }
+
+    // never called while holding the monitor of the graph, which the scan would block
+    private void ensureLoaded() {
+        synchronized (this) {
+            if (loaded) {
+                return;
+            }
+        }
+        synchronized (scanLock) {
+            while (true) {
+                long generation;
+                synchronized (this) {
+                    if (loaded) {
+                        // computed by another reader meanwhile
+                        return;
+                    }
+                    generation = scanGeneration;
+                    changesDuringScan = new ArrayList<Runnable>();
+                }
+                // configurations are restored or analyzed in parallel for each folder,
+                // then added to the graph here
+                Map<String, TriggerGraphStore.Entry> stored = null;
+                ScanResult scan = null;
+                try {
+                    stored = TriggerGraphStore.get().load();
+                    scan = ItemTreeScanner.scan(new ScanVisitor(stored));
+                }
+                finally {
+                    if (scan == null) {
+                        synchronized (this) {
+                            changesDuringScan = null;
+                        }
+                    }
+                }
+                synchronized (this) {
+                    List<Runnable> changes = changesDuringScan;
+                    changesDuringScan = null;
+                    if (generation != scanGeneration) {
+                        // invalidated during the scan, scan again
+                        continue;
+                    }
+                    for (Map.Entry<AbstractProject<?, ?>, JobTriggers> entry : scan.triggersByJob.entrySet()) {
+                        put(entry.getKey(), entry.getValue());
+                    }
+                    loaded = true;
+                    dirty = false;
+
+                    if (scan.analyzedCount > 0 || scan.jobs.size() != stored.size()) {
+                        // jobs were created, deleted or reconfigured since the graph was stored: restored
+                        // triggering jobs may now reference other jobs, or other Label parameters
+                        try (ACLContext ctx = ACL.as(ACL.SYSTEM)) {
+                            for (AbstractProject<?, ?> job : scan.restoredTriggeringJobs) {
+                                analyze(job);
+                            }
+                        }
+                        // written later, so that readers waiting for the graph don't wait for the disk
+                        dirty = true;
+                        Timer.get().submit(new Runnable() {
+                            public void run() {
+                                save();
+                            }
+                        });
+                    }
+                    // the scan may or may not have seen these changes, apply them again
+                    for (Runnable change : changes) {
+                        change.run();
+                    }
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * @return true if this change can't be applied now: the graph is not computed yet. If a full
+     * scan is running, the change is applied once the scan is added to the graph, otherwise the
+     * next full scan will take it into account.
+     */
+    private boolean deferUntilLoaded(Runnable change) {
+        if (loaded) {
+            return false;
+        }
+        if (changesDuringScan != null) {
+            changesDuringScan.add(change);
+        }
+        return true;
+    }
+
+    /**
+     * Save the graph to disk if it changed since it was loaded or last saved
+     */
+    void save() {
+        synchronized (saveLock) {
+            LinkedHashMap<String, AbstractProject<?, ?>> jobs = new LinkedHashMap<String, AbstractProject<?, ?>>();
+            HashMap<AbstractProject<?, ?>, JobTriggers> triggers;
+            synchronized (this) {
+                if (!loaded || !dirty) {
+                    return;
+                }
+                try (ACLContext ctx = ACL.as(ACL.SYSTEM)) {
+                    for (AbstractProject<?, ?> job : Jenkins.getInstance().getAllItems(AbstractProject.class)) {
+                        if (job instanceof TopLevelItem) {
+                            jobs.put(job.getFullName(), job);
+                        }
+                    }
+                }
+                // JobTriggers are replaced, never modified: a copy of the map is enough
+                triggers = new HashMap<AbstractProject<?, ?>, JobTriggers>(triggersByJob);
+                dirty = false;
+            }
+            // compressed and written without holding the monitor of the graph
+            TriggerGraphStore.get().save(jobs, triggers);
+        }
+    }
+
+    // replace the contributions of this job by up-to-date ones
+    private void analyze(AbstractProject<?, ?> job) {
+        JobTriggers oldTriggers = triggersByJob.get(job);
+        remove(job);
+        if (job instanceof TopLevelItem) {
+            put(job, TriggeredJobsHelper.analyze(job));
+        }
+        recordChange(oldTriggers, triggersByJob.get(job));
+    }
+
+    // the labels used by these triggers may now have other triggered jobs
+    private static void recordChange(JobTriggers oldTriggers, JobTriggers newTriggers) {
+        if (oldTriggers != null && newTriggers != null && oldTriggers.edgeLabels.equals(newTriggers.edgeLabels)
+                && oldTriggers.edgeJobs.equals(newTriggers.edgeJobs)
+                && oldTriggers.defaultLabels.equals(newTriggers.defaultLabels)) {
+            // nothing changed
+            return;
+        }
+        List<Label> labels = new ArrayList<Label>();
+        for (JobTriggers triggers : Arrays.asList(oldTriggers, newTriggers)) {
+            if (triggers != null) {
+                labels.addAll(triggers.edgeLabels);
+                labels.addAll(triggers.defaultLabels);
+            }
+        }
+        ChangeLog.get().labelsChanged(labels);
+    }
+
+    private void put(AbstractProject<?, ?> job, JobTriggers triggers) {
+        if (triggers.isEmpty()) {
+            return;
+        }
+        triggersByJob.put(job, triggers);
+        for (AbstractProject<?, ?> triggeredJob : triggers.triggeredJobs) {
+            Set<AbstractProject<?, ?>> triggeringJobs = triggeringJobsByJob.get(triggeredJob);
+            if (triggeringJobs == null) {
+                triggeringJobs = new HashSet<AbstractProject<?, ?>>();
+                triggeringJobsByJob.put(triggeredJob, triggeringJobs);
+            }
+            triggeringJobs.add(job);
+        }
+        for (String name : triggers.referencedNames) {
+            Set<AbstractProject<?, ?>> triggeringJobs = triggeringJobsByName.get(name);
+            if (triggeringJobs == null) {
+                triggeringJobs = new HashSet<AbstractProject<?, ?>>();
+                triggeringJobsByName.put(name, triggeringJobs);
+            }
+            triggeringJobs.add(job);
+        }
+    }
+
+    private void remove(AbstractProject<?, ?> job) {
+        JobTriggers oldTriggers = triggersByJob.remove(job);
+        if (oldTriggers == null) {
+            return;
+        }
+        for (AbstractProject<?, ?> triggeredJob : oldTriggers.triggeredJobs) {
+            Set<AbstractProject<?, ?>> triggeringJobs = triggeringJobsByJob.get(triggeredJob);
+            if (triggeringJobs != null) {
+                triggeringJobs.remove(job);
+                if (triggeringJobs.isEmpty()) {
+                    triggeringJobsByJob.remove(triggeredJob);
+                }
+            }
+        }
+        for (String name : oldTriggers.referencedNames) {
+            Set<AbstractProject<?, ?>> triggeringJobs = triggeringJobsByName.get(name);
+            if (triggeringJobs != null) {
+                triggeringJobs.remove(job);
+                if (triggeringJobs.isEmpty()) {
+                    triggeringJobsByName.remove(name);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,238 @@
+/*
+ * The MIT License
+ * 
+ * Copyright (C) 2026 Dominique Brice
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is furnished
+ * to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package jenkins.plugins.linkedjobs.helpers;
+
+import hudson.model.AbstractProject;
+import hudson.model.Label;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import jenkins.model.Jenkins;
+
+/**
+ * Copy of the {@link TriggerGraph} on disk, so that the graph doesn't have to be computed
+ * from scratch after a restart.
+ * <p>
+ * For each job, the file stores the modification time and size of its config.xml at the
+ * time it was saved, along with what the job contributes to the graph. When the graph is
+ * loaded, only the jobs whose config.xml changed since are analyzed again.
+ * <p>
+ * The file is a gzipped stream of {@link DataOutputStream} records, and is written to a
+ * temporary file first, so that a crash never leaves a truncated file behind. Since this
+ * temporary file is always the same, callers never save concurrently.
+ */
+class TriggerGraphStore {
+
+    private static final Logger LOGGER = Logger.getLogger(TriggerGraphStore.class.getName());
+
+    static final String FILE_NAME = "label-linked-jobs-triggers.bin";
+    // to be increased each time the format changes: older files are then ignored
+    private static final int VERSION = 2;
+    private static final int MAGIC = 0x4c4c4a54;
+
+    private final File file;
+
+    TriggerGraphStore(File file) {
+        this.file = file;
+    }
+
+    static TriggerGraphStore get() {
+        return new TriggerGraphStore(new File(Jenkins.getInstance().getRootDir(), FILE_NAME));
+    }
+
+    /**
+     * What was stored for one job. Jobs and labels are stored by name, so that they can be
+     * read before being resolved.
+     */
+    static final class Entry {
+        final long lastModified;
+        final long length;
+        boolean triggering;
+        final List<String> edgeLabels = new ArrayList<String>();
+        // empty string when the label is used but no job is triggered
+        final List<String> edgeJobs = new ArrayList<String>();
+        final List<String> triggeredJobs = new ArrayList<String>();
+        final List<String> defaultLabels = new ArrayList<String>();
+        final List<String> referencedNames = new ArrayList<String>();
+
+        Entry(long lastModified, long length) {
+            this.lastModified = lastModified;
+            this.length = length;
+        }
+
+        // true if the configuration of this job didn't change since it was stored
+        boolean isUpToDate(AbstractProject<?, ?> job) {
+            File config = job.getConfigFile().getFile();
+            return config.lastModified() == lastModified && config.length() == length;
+        }
+
+        /**
+         * @return the contributions of the job to the graph, or null if they can't be
+         * restored because jobs they reference don't exist anymore
+         */
+        TriggerGraph.JobTriggers restore() {
+            Jenkins jenkins = Jenkins.getInstance();
+            TriggerGraph.JobTriggers result = new TriggerGraph.JobTriggers();
+            result.triggering = triggering;
+            for (int i = 0; i < edgeLabels.size(); i++) {
+                AbstractProject<?, ?> triggeredJob = null;
+                if (!edgeJobs.get(i).isEmpty()) {
+                    triggeredJob = jenkins.getItemByFullName(edgeJobs.get(i), AbstractProject.class);
+                    if (triggeredJob == null) {
+                        return null;
+                    }
+                }
+                result.addEdge(jenkins.getLabel(edgeLabels.get(i)), triggeredJob);
+            }
+            for (String name : triggeredJobs) {
+                AbstractProject<?, ?> triggeredJob = jenkins.getItemByFullName(name, AbstractProject.class);
+                if (triggeredJob == null) {
+                    return null;
+                }
+                result.triggeredJobs.add(triggeredJob);
+            }
+            for (String label : defaultLabels) {
+                result.defaultLabels.add(jenkins.getLabel(label));
+            }
+            result.referencedNames.addAll(referencedNames);
+            return result;
+        }
+    }
+
+    /**
+     * @return what was stored for each job, by full name. Empty if nothing was stored
+     * yet, or if the file can't be read
+     */
+    Map<String, Entry> load() {
+        HashMap<String, Entry> result = new HashMap<String, Entry>();
+        if (!file.isFile()) {
+            return result;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new GZIPInputStream(new FileInputStream(file))))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                return result;
+            }
+            int jobsCount = in.readInt();
+            for (int i = 0; i < jobsCount; i++) {
+                String fullName = in.readUTF();
+                Entry entry = new Entry(in.readLong(), in.readLong());
+                entry.triggering = in.readBoolean();
+                int edgesCount = in.readInt();
+                for (int j = 0; j < edgesCount; j++) {
+                    entry.edgeLabels.add(in.readUTF());
+                    entry.edgeJobs.add(in.readUTF());
+                }
+                readStrings(in, entry.triggeredJobs);
+                readStrings(in, entry.defaultLabels);
+                readStrings(in, entry.referencedNames);
+                result.put(fullName, entry);
+            }
+        }
+        catch (IOException e) {
+            // the graph will be computed from scratch
+            LOGGER.log(Level.WARNING, "Failed to read " + file + ", ignoring it", e);
+            result.clear();
+        }
+        return result;
+    }
+
+    /**
+     * @param jobs all jobs, by full name
+     * @param triggersByJob what each job contributes to the graph, if anything
+     */
+    void save(Map<String, AbstractProject<?, ?>> jobs, Map<AbstractProject<?, ?>, TriggerGraph.JobTriggers> triggersByJob) {
+        File tmp = new File(file.getPath() + ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(new FileOutputStream(tmp))))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeInt(jobs.size());
+                for (Map.Entry<String, AbstractProject<?, ?>> job : jobs.entrySet()) {
+                    File config = job.getValue().getConfigFile().getFile();
+                    out.writeUTF(job.getKey());
+                    out.writeLong(config.lastModified());
+                    out.writeLong(config.length());
+                    TriggerGraph.JobTriggers triggers = triggersByJob.get(job.getValue());
+                    out.writeBoolean(triggers != null && triggers.triggering);
+                    if (triggers == null) {
+                        out.writeInt(0);
+                        out.writeInt(0);
+                        out.writeInt(0);
+                        out.writeInt(0);
+                        continue;
+                    }
+                    out.writeInt(triggers.edgeLabels.size());
+                    for (int i = 0; i < triggers.edgeLabels.size(); i++) {
+                        out.writeUTF(triggers.edgeLabels.get(i).getExpression());
+                        AbstractProject<?, ?> triggeredJob = triggers.edgeJobs.get(i);
+                        out.writeUTF(triggeredJob == null ? "" : triggeredJob.getFullName());
+                    }
+                    out.writeInt(triggers.triggeredJobs.size());
+                    for (AbstractProject<?, ?> triggeredJob : triggers.triggeredJobs) {
+                        out.writeUTF(triggeredJob.getFullName());
+                    }
+                    out.writeInt(triggers.defaultLabels.size());
+                    for (Label label : triggers.defaultLabels) {
+                        out.writeUTF(label.getExpression());
+                    }
+                    out.writeInt(triggers.referencedNames.size());
+                    for (String name : triggers.referencedNames) {
+                        out.writeUTF(name);
+                    }
+                }
+            }
+            Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        catch (IOException e) {
+            // not a big deal, the graph will be computed again at next startup
+            LOGGER.log(Level.WARNING, "Failed to write " + file, e);
+            tmp.delete();
+        }
+    }
+
+    private static void readStrings(DataInputStream in, List<String> into) throws IOException {
+        int count = in.readInt();
+        for (int i = 0; i < count; i++) {
+            into.add(in.readUTF());
+        }
+    }
+}
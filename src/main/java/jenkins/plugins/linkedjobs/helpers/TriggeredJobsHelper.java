@@ -1,6 +1,7 @@
 package jenkins.plugins.linkedjobs.helpers;
 
 import hudson.model.AbstractProject;
+import hudson.model.Item;
 import hudson.model.JobProperty;
 import hudson.model.Label;
 import hudson.model.ParameterDefinition;
@@ -14,7 +15,6 @@ import hudson.plugins.parameterizedtrigger.TriggerBuilder;
 import hudson.tasks.Builder;
 
 import java.io.IOException;
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -32,43 +32,19 @@ import org.jvnet.jenkins.plugins.nodelabelparameter.parameterizedtrigger.NodeLab
 
 public class TriggeredJobsHelper {
     
+    // what jobs contribute is kept between two calls, see TriggerGraph
+    private static final TriggerGraph GRAPH = new TriggerGraph();
+    
     // list all jobs that are "parameterized", and for which at least one of the
     // parameter is a Label parameter from the NodeLabelParameter plugin.
     // group them by label, using the default parameter of their Label parameter
     public static void populateJobsWithLabelDefaultValue(
             HashMap<Label, List<AbstractProject<?,?>>> jobsByDefaultLabel) {
 
-        if (Jenkins.getInstance().getPlugin("parameterized-trigger") == null
-         || Jenkins.getInstance().getPlugin("nodelabelparameter") == null) {
+        if (!arePluginsActive()) {
             return; // plugins not active, nothing to do
         }
-
-        // scan through all jobs defined on this jenkins instance
-        for (AbstractProject<?, ?> job : Jenkins.getInstance().getAllItems(AbstractProject.class)) {
-            // scan through the properties of each job
-            for (JobProperty<?> property : job.getProperties().values()) {
-                if (!(property instanceof ParametersDefinitionProperty)) {
-                    continue;
-                }
-
-                // this job is 'parameterized', loop through its parameters list
-                for (ParameterDefinition pdef : ((ParametersDefinitionProperty) property).getParameterDefinitions()) {
-                    if (!(pdef instanceof LabelParameterDefinition)) {
-                        continue;
-                    }
-                    String defaultLabel = ((LabelParameterDefinition) pdef).defaultValue;
-                    if (isSupportedLabel(defaultLabel)) {
-                        Label label = Jenkins.getInstance().getLabel(defaultLabel);
-                        List<AbstractProject<?, ?>> jobsForThisLabel = jobsByDefaultLabel.get(label);
-                        if (jobsForThisLabel == null) {
-                            jobsForThisLabel = new ArrayList<AbstractProject<?,?>>();
-                            jobsByDefaultLabel.put(label, jobsForThisLabel);
-                        }
-                        jobsForThisLabel.add(job);
-                    }
-                }
-            }
-        }
+        GRAPH.populateJobsWithLabelDefaultValue(jobsByDefaultLabel);
     }
 
     // list all jobs that are triggered by other jobs, for which configuration makes use of
@@ -77,82 +53,167 @@ public class TriggeredJobsHelper {
     public static void populateTriggeredJobs(
             HashMap<Label, HashMap<AbstractProject<?,?>, TriggeredJob>> triggeredJobsByLabel) {
         
-        if (Jenkins.getInstance().getPlugin("parameterized-trigger") == null
-         || Jenkins.getInstance().getPlugin("nodelabelparameter") == null) {
+        if (!arePluginsActive()) {
             return; // plugins not active, nothing to do
         }
+        GRAPH.populateTriggeredJobs(triggeredJobsByLabel);
+    }
+    
+    // the configuration of this job was saved
+    public static void jobUpdated(Item item) {
+        if (arePluginsActive()) {
+            GRAPH.jobUpdated(item);
+        }
+    }
+    
+    // this item was created or copied
+    public static void jobCreated(Item item) {
+        if (arePluginsActive()) {
+            GRAPH.jobCreated(item);
+        }
+    }
+    
+    // this item was renamed or moved
+    public static void jobRenamed(Item item, String oldFullName) {
+        if (arePluginsActive()) {
+            GRAPH.jobRenamed(item, oldFullName);
+        }
+    }
+    
+    public static void jobDeleted(Item item) {
+        if (arePluginsActive()) {
+            GRAPH.jobDeleted(item);
+        }
+    }
+    
+    // compute the graph now if needed, instead of the first time it is read
+    public static void load() {
+        if (arePluginsActive()) {
+            GRAPH.load();
+        }
+    }
+    
+    // all items were (re)loaded from disk
+    public static void invalidate() {
+        GRAPH.invalidate();
+    }
+    
+    // save the graph to disk, to be restored at next startup
+    public static void save() {
+        if (arePluginsActive()) {
+            GRAPH.save();
+        }
+    }
+    
+    private static boolean arePluginsActive() {
+        return Jenkins.getInstance().getPlugin("parameterized-trigger") != null
+            && Jenkins.getInstance().getPlugin("nodelabelparameter") != null;
+    }
+    
+    // compute what the configuration of this job contributes to the graph: labels used
+    // to trigger other jobs, and default values of its Label parameters
+    static TriggerGraph.JobTriggers analyze(AbstractProject<?, ?> job) {
+        TriggerGraph.JobTriggers result = new TriggerGraph.JobTriggers();
         
-        for (AbstractProject<?, ?> triggeringJob : Jenkins.getInstance().getAllItems(
-                AbstractProject.class)) {
-            
-            if (!(triggeringJob instanceof Project)) {
+        // scan through the properties of each job
+        for (JobProperty<?> property : job.getProperties().values()) {
+            if (!(property instanceof ParametersDefinitionProperty)) {
                 continue;
             }
-            for (Builder builder : (List<Builder>)((Project<?, ?>)triggeringJob).getBuilders()) {
-                if (!(builder instanceof TriggerBuilder)) {
+
+            // this job is 'parameterized', loop through its parameters list
+            for (ParameterDefinition pdef : ((ParametersDefinitionProperty) property).getParameterDefinitions()) {
+                if (!(pdef instanceof LabelParameterDefinition)) {
                     continue;
                 }
-                // this job is triggering other jobs...
-                List<BlockableBuildTriggerConfig> configs = ((TriggerBuilder) builder).getConfigs();
-                for (BlockableBuildTriggerConfig config : configs) {
-                    
-                    List<AbstractProject> triggeredJobs = config.getProjectList(null);
-                    
-                    // use case one: a Parameters section
-                    for (AbstractBuildParameters parameter : config.getConfigs()) {
-                        if (parameter instanceof NodeLabelBuildParameter) {
-                            // job is triggering other jobs based on specific label
-                            // using the nodelabelparameter plugin
-                            addTriggeredJobsByLabel(triggeredJobsByLabel, ((NodeLabelBuildParameter)parameter).nodeLabel,
-                                    triggeredJobs, triggeringJob);
-                        }
-                        else if (parameter instanceof PredefinedBuildParameters) {
-                            // do something with predefined parameters, that could be labels in triggered jobs configuration
-                            try {
-                                Properties p = new Properties();
-                                StringInputStream inputStream = new StringInputStream(((PredefinedBuildParameters)parameter).getProperties());
-                                p.load(inputStream);
-                                
-                                // remove all potentially unacceptable label (because of macro/token usage)
-                                Set<Object> keysSet = p.keySet();
-                                for (Iterator<Object> ite = keysSet.iterator(); ite.hasNext() ;) {
-                                    String key = (String)ite.next();
-                                    if (!isSupportedLabel(p.getProperty(key))) {
-                                        ite.remove();
-                                    }
+                String defaultLabel = ((LabelParameterDefinition) pdef).defaultValue;
+                if (isSupportedLabel(defaultLabel)) {
+                    result.defaultLabels.add(Jenkins.getInstance().getLabel(defaultLabel));
+                }
+            }
+        }
+        
+        if (!(job instanceof Project)) {
+            return result;
+        }
+        for (Builder builder : (List<Builder>)((Project<?, ?>)job).getBuilders()) {
+            if (!(builder instanceof TriggerBuilder)) {
+                continue;
+            }
+            // this job is triggering other jobs...
+            result.triggering = true;
+            List<BlockableBuildTriggerConfig> configs = ((TriggerBuilder) builder).getConfigs();
+            for (BlockableBuildTriggerConfig config : configs) {
+                
+                // names as configured, to find this job again when a job of this name is created or renamed
+                String projects = config.getProjects();
+                if (projects != null) {
+                    for (String name : projects.split(",")) {
+                        result.addReferencedName(name);
+                    }
+                }
+                
+                List<AbstractProject> triggeredJobs = config.getProjectList(null);
+                if (triggeredJobs != null) {
+                    for (AbstractProject<?, ?> triggeredJob : triggeredJobs) {
+                        result.triggeredJobs.add(triggeredJob);
+                    }
+                }
+                
+                // use case one: a Parameters section
+                for (AbstractBuildParameters parameter : config.getConfigs()) {
+                    if (parameter instanceof NodeLabelBuildParameter) {
+                        // job is triggering other jobs based on specific label
+                        // using the nodelabelparameter plugin
+                        addTriggeredJobsByLabel(result, ((NodeLabelBuildParameter)parameter).nodeLabel, triggeredJobs);
+                    }
+                    else if (parameter instanceof PredefinedBuildParameters) {
+                        // do something with predefined parameters, that could be labels in triggered jobs configuration
+                        try {
+                            Properties p = new Properties();
+                            StringInputStream inputStream = new StringInputStream(((PredefinedBuildParameters)parameter).getProperties());
+                            p.load(inputStream);
+                            
+                            // remove all potentially unacceptable label (because of macro/token usage)
+                            Set<Object> keysSet = p.keySet();
+                            for (Iterator<Object> ite = keysSet.iterator(); ite.hasNext() ;) {
+                                String key = (String)ite.next();
+                                if (!isSupportedLabel(p.getProperty(key))) {
+                                    ite.remove();
                                 }
-                                addTriggeredJobsByPredefinedParameters(triggeredJobsByLabel, p, triggeredJobs, triggeringJob);
-                                inputStream.close();
-                            }
-                            catch (IOException ioe) {
-                                // TODO: log exception?
                             }
+                            addTriggeredJobsByPredefinedParameters(result, p, triggeredJobs);
+                            inputStream.close();
+                        }
+                        catch (IOException ioe) {
+                            // TODO: log exception?
                         }
                     }
-                    
-                    // use case two: a ParameterFactories section
-                    List<AbstractBuildParameterFactory> factories = config.getConfigFactories();
-                    if (factories == null) {
+                }
+                
+                // use case two: a ParameterFactories section
+                List<AbstractBuildParameterFactory> factories = config.getConfigFactories();
+                if (factories == null) {
+                    continue;
+                }
+                
+                for (AbstractBuildParameterFactory factory : factories) {
+                    if (!(factory instanceof AllNodesForLabelBuildParameterFactory)) {
                         continue;
                     }
-                    
-                    for (AbstractBuildParameterFactory factory : factories) {
-                        if (!(factory instanceof AllNodesForLabelBuildParameterFactory)) {
-                            continue;
-                        }
 
-                        // job is triggering other jobs based on specific label
-                        // using the nodelabelparameter plugin
-                        addTriggeredJobsByLabel(triggeredJobsByLabel, ((AllNodesForLabelBuildParameterFactory) factory).nodeLabel,
-                                triggeredJobs, triggeringJob);
-                    }
+                    // job is triggering other jobs based on specific label
+                    // using the nodelabelparameter plugin
+                    addTriggeredJobsByLabel(result, ((AllNodesForLabelBuildParameterFactory) factory).nodeLabel,
+                            triggeredJobs);
                 }
             }
         }
+        return result;
     }
     
-    private static void addTriggeredJobsByPredefinedParameters(HashMap<Label, HashMap<AbstractProject<?,?>, TriggeredJob>> triggeredJobsByLabel,
-            Properties p, List<AbstractProject> triggeredJobs, AbstractProject<?, ?> triggeringJob) {
+    private static void addTriggeredJobsByPredefinedParameters(TriggerGraph.JobTriggers result,
+            Properties p, List<AbstractProject> triggeredJobs) {
         
         if (triggeredJobs == null) {
             return;
@@ -175,24 +236,8 @@ public class TriggeredJobsHelper {
                     // is there a matching parameter in the triggered job?
                     ParameterDefinition pdef = pdproperties.getParameterDefinition(strParameterName);
                     if (pdef != null && (pdef instanceof LabelParameterDefinition)) {
-                        // yes, and it's a Label parameter!
-                        Label label = Jenkins.getInstance().getLabel(strParameterValue);
-                        // let's store it in our result
-                        HashMap<AbstractProject<?, ?>, TriggeredJob> jobsTriggeredByCurrentLabel = triggeredJobsByLabel.get(label);
-                        if (jobsTriggeredByCurrentLabel == null) {
-                            // create data structure for this label in the result if it doesn't exist yet
-                            jobsTriggeredByCurrentLabel = new HashMap<AbstractProject<?,?>, TriggeredJob>();
-                            triggeredJobsByLabel.put(label, jobsTriggeredByCurrentLabel);
-                        }
-                        // associate triggered job to triggering job
-                        TriggeredJob triggeredJobData = jobsTriggeredByCurrentLabel.get(triggeredJob);
-                        if (triggeredJobData == null) {
-                            triggeredJobData = new TriggeredJob(triggeredJob, triggeringJob);
-                            jobsTriggeredByCurrentLabel.put(triggeredJob, triggeredJobData);
-                        }
-                        else {
-                            triggeredJobData.addTriggeringJob(triggeringJob);
-                        }
+                        // yes, and it's a Label parameter! let's store it in our result
+                        result.addEdge(Jenkins.getInstance().getLabel(strParameterValue), triggeredJob);
                     }
                 }
             }
@@ -229,8 +274,8 @@ public class TriggeredJobsHelper {
         return true;
     }
     
-    private static void addTriggeredJobsByLabel(HashMap<Label, HashMap<AbstractProject<?,?>, TriggeredJob>> triggeredJobsByLabel,
-            String strLabel, List<AbstractProject> triggeredJobs, AbstractProject<?, ?> triggeringJob) {
+    private static void addTriggeredJobsByLabel(TriggerGraph.JobTriggers result,
+            String strLabel, List<AbstractProject> triggeredJobs) {
 
         if (!isSupportedLabel(strLabel)) {
             return;
@@ -238,26 +283,16 @@ public class TriggeredJobsHelper {
 
         Label label = Jenkins.getInstance().getLabel(strLabel);
         
-        HashMap<AbstractProject<?, ?>, TriggeredJob> jobsTriggeredByCurrentLabel = triggeredJobsByLabel.get(label);
-        if (jobsTriggeredByCurrentLabel == null) {
-            // create data structure for this label in the result if it doesn't exist yet
-            jobsTriggeredByCurrentLabel = new HashMap<AbstractProject<?,?>, TriggeredJob>();
-            triggeredJobsByLabel.put(label, jobsTriggeredByCurrentLabel);
+        if (triggeredJobs == null || triggeredJobs.isEmpty()) {
+            // the label is used, even if no job is triggered with it
+            result.addEdge(label, null);
+            return;
         }
 
         // scan the list of all triggered jobs
-        if (triggeredJobs != null) {
-            for (AbstractProject<?, ?> triggeredJob : triggeredJobs) {
-                // and store them, associated to the triggering job and currentLabel
-                TriggeredJob triggeredJobData = jobsTriggeredByCurrentLabel.get(triggeredJob);
-                if (triggeredJobData == null) {
-                    triggeredJobData = new TriggeredJob(triggeredJob, triggeringJob);
-                    jobsTriggeredByCurrentLabel.put(triggeredJob, triggeredJobData);
-                }
-                else {
-                    triggeredJobData.addTriggeringJob(triggeringJob);
-                }
-            }
+        // and store them, associated to the triggering job and currentLabel
+        for (AbstractProject<?, ?> triggeredJob : triggeredJobs) {
+            result.addEdge(label, triggeredJob);
         }
     }
 }
@@ -49,6 +49,10 @@ public abstract class AbstractJobsGroup {
         jobs.add(job);
     }
     
+    public void addJobs(Collection<AbstractProject<?, ?>> jobs) {
+        this.jobs.addAll(jobs);
+    }
+    
     public void addTriggeredJobs(Collection<TriggeredJob> jobs) {
         triggeredJobs.addAll(jobs);
     }
@@ -0,0 +1,157 @@
+/*
+ * The MIT License
+ * 
+ * Copyright (C) 2026 Dominique Brice
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is furnished
+ * to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package jenkins.plugins.linkedjobs.model;
+
+import hudson.Util;
+import hudson.model.AbstractProject;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * All the data displayed by the Labels Dashboard, computed at once by
+ * {@link jenkins.plugins.linkedjobs.helpers.DashboardSnapshotBuilder}.
+ * Once built, a snapshot is not modified anymore.
+ */
+public final class DashboardSnapshot {
+
+    private final List<LabelAtomData> labelsData;
+    private final List<NodeData> nodesData;
+    private final List<AbstractProject<?, ?>> orphanedJobs;
+    private final List<TriggeredJob> orphanedTriggeredJobs;
+    private final Collection<AbstractProject<?, ?>> orphanedDefaultValueJobs;
+    private final List<NodeData> singleNodeJobs;
+    private final List<NodeBlastRadius> blastRadius;
+    private final List<UnderRedundantLabel> underRedundantLabels;
+    private final int minimumRedundancy;
+    private final List<AbstractProject<?, ?>> jobsWithNoLabels;
+    private final boolean onlyExclusiveNodes;
+    private final boolean hasAtLeastOneCloud;
+    private final long computedAt = System.currentTimeMillis();
+    private final long generation;
+
+    public DashboardSnapshot(List<LabelAtomData> labelsData, List<NodeData> nodesData,
+            List<AbstractProject<?, ?>> orphanedJobs, List<TriggeredJob> orphanedTriggeredJobs,
+            Collection<AbstractProject<?, ?>> orphanedDefaultValueJobs, List<NodeData> singleNodeJobs,
+            List<NodeBlastRadius> blastRadius, List<UnderRedundantLabel> underRedundantLabels, int minimumRedundancy,
+            List<AbstractProject<?, ?>> jobsWithNoLabels, boolean onlyExclusiveNodes, boolean hasAtLeastOneCloud,
+            long generation) {
+        this.labelsData = Collections.unmodifiableList(labelsData);
+        this.nodesData = Collections.unmodifiableList(nodesData);
+        this.orphanedJobs = Collections.unmodifiableList(orphanedJobs);
+        this.orphanedTriggeredJobs = Collections.unmodifiableList(orphanedTriggeredJobs);
+        this.orphanedDefaultValueJobs = Collections.unmodifiableCollection(orphanedDefaultValueJobs);
+        this.singleNodeJobs = Collections.unmodifiableList(singleNodeJobs);
+        this.blastRadius = Collections.unmodifiableList(blastRadius);
+        this.underRedundantLabels = Collections.unmodifiableList(underRedundantLabels);
+        this.minimumRedundancy = minimumRedundancy;
+        this.jobsWithNoLabels = Collections.unmodifiableList(jobsWithNoLabels);
+        this.onlyExclusiveNodes = onlyExclusiveNodes;
+        this.hasAtLeastOneCloud = hasAtLeastOneCloud;
+        this.generation = generation;
+    }
+
+    // time at which this snapshot was computed, in milliseconds
+    public long getComputedAt() {
+        return computedAt;
+    }
+
+    // generation of ChangeLog when this snapshot started to be computed: all
+    // changes up to this generation are taken into account
+    public long getGeneration() {
+        return generation;
+    }
+
+    //************************************************
+    // functions used to render display in index.jelly
+    //************************************************
+
+    // for instance "3 min 12 sec"
+    public String getAgeString() {
+        return Util.getTimeSpanString(System.currentTimeMillis() - computedAt);
+    }
+
+    // all LabelAtom used by jobs or defined by nodes and clouds, sorted by name
+    public List<LabelAtomData> getLabelsData() {
+        return labelsData;
+    }
+
+    // all nodes, with the jobs using their self label, sorted by name
+    public List<NodeData> getNodesData() {
+        return nodesData;
+    }
+
+    // jobs that can't run on any nodes because of labels (mis-)configuration
+    public List<AbstractProject<?, ?>> getOrphanedJobs() {
+        return orphanedJobs;
+    }
+
+    // JENKINS-27588 - triggered jobs that can't run on any nodes because
+    // of the label they are triggered with
+    public List<TriggeredJob> getOrphanedTriggeredJobs() {
+        return orphanedTriggeredJobs;
+    }
+
+    // jobs that can't run on any nodes with the default value of their Label parameter
+    public Collection<AbstractProject<?, ?>> getOrphanedDefaultValueJobs() {
+        return orphanedDefaultValueJobs;
+    }
+
+    // jobs that can run on only one node, grouped by node
+    public List<NodeData> getSingleNodeJobs() {
+        return singleNodeJobs;
+    }
+
+    // nodes whose loss would make jobs orphaned or single-node, largest blast radius first
+    public List<NodeBlastRadius> getBlastRadius() {
+        return blastRadius;
+    }
+
+    // labels of jobs matching fewer online nodes than the minimum redundancy, least redundant first
+    public List<UnderRedundantLabel> getUnderRedundantLabels() {
+        return underRedundantLabels;
+    }
+
+    // minimum redundancy when this snapshot was computed, 0 if disabled
+    public int getMinimumRedundancy() {
+        return minimumRedundancy;
+    }
+
+    // JENKINS-25163 - jobs that have no label
+    public List<AbstractProject<?, ?>> getJobsWithNoLabels() {
+        return jobsWithNoLabels;
+    }
+
+    // JENKINS-25188 - true if all nodes are in exclusive mode
+    public boolean getOnlyExclusiveNodes() {
+        return onlyExclusiveNodes;
+    }
+
+    // whether clouds information should be displayed at all
+    public boolean getHasAtLeastOneCloud() {
+        return hasAtLeastOneCloud;
+    }
+}
@@ -28,10 +28,10 @@ import hudson.model.Label;
 import hudson.model.Node;
 import hudson.slaves.Cloud;
 
-import java.util.ArrayList;
 import java.util.List;
 
-import jenkins.model.Jenkins;
+import jenkins.plugins.linkedjobs.helpers.CloudProvisioningCache;
+import jenkins.plugins.linkedjobs.helpers.NodeMatchCache;
 
 /**
  * Data structure to group together jobs (projects) sharing the same label
@@ -49,19 +49,8 @@ public class JobsGroup extends AbstractJobsGroup implements Comparable<JobsGroup
 
         label = l;
         
-        applicableNodes = new ArrayList<Node>();
         // list all nodes that could run jobs with this particular label
-        // this code is strongly inspired from what is found in hudson.model.Label.getNodes()
-        Jenkins jenkins = Jenkins.getInstance();
-        // do not forget master node!
-        if (label.matches(jenkins)) {
-            applicableNodes.add(jenkins);
-        }
-        for (Node node : jenkins.getNodes()) {
-            if (label.matches(node)) {
-                applicableNodes.add(node);
-            }
-        }
+        applicableNodes = NodeMatchCache.get().getMatchingNodes(label);
     }
     
     //************************************************
@@ -86,13 +75,7 @@ public class JobsGroup extends AbstractJobsGroup implements Comparable<JobsGroup
     
     // clouds that can provision this label (and thus jobs in this group)
     public List<Cloud> getProvisioningClouds() {
-        List<Cloud> provisioningClouds = new ArrayList<Cloud>();
-        for (Cloud c : Jenkins.getInstance().clouds) {
-            if (c.canProvision(label)) {
-                provisioningClouds.add(c);
-            }
-        }
-        return provisioningClouds;
+        return CloudProvisioningCache.get().getProvisioningClouds(label);
     }
 
     //*********************************
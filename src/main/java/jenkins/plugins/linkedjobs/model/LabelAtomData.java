@@ -28,9 +28,9 @@ import java.util.ArrayList;
 
 import jenkins.model.Jenkins;
 import jenkins.plugins.linkedjobs.actions.LabelLinkedJobsAction;
+import jenkins.plugins.linkedjobs.helpers.CloudProvisioningCache;
 import hudson.model.Node;
 import hudson.model.labels.LabelAtom;
-import hudson.slaves.Cloud;
 import hudson.util.VersionNumber;
 
 public class LabelAtomData extends AbstractJobsGroup implements Comparable<LabelAtomData> {
@@ -78,13 +78,7 @@ public class LabelAtomData extends AbstractJobsGroup implements Comparable<Label
     // JENKINS-32445
     // return the number of clouds that can provision this atomic label
     public int getCloudsCount() {
-        int result = 0;
-        for (Cloud c : Jenkins.getInstance().clouds) {
-            if (c.canProvision(labelAtom)) {
-                result++;
-            }
-        }
-        return result;
+        return CloudProvisioningCache.get().getProvisioningCloudsCount(labelAtom);
     }
     
     public boolean getPluginActiveForLabel() {
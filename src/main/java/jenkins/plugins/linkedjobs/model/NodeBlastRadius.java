@@ -0,0 +1,82 @@
+/*
+ * The MIT License
+ * 
+ * Copyright (C) 2026 Dominique Brice
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is furnished
+ * to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package jenkins.plugins.linkedjobs.model;
+
+import hudson.model.Node;
+
+/**
+ * What losing one node would cause: the jobs that could not run anywhere anymore,
+ * and the jobs that could only run on one node anymore
+ */
+public class NodeBlastRadius implements Comparable<NodeBlastRadius> {
+
+    // jobs that can only run on this node, and no cloud can provision their label
+    private final NodeData orphaned;
+    // jobs that can only run on this node and another one
+    private final NodeData singleNode;
+
+    public NodeBlastRadius(Node node) {
+        orphaned = new NodeData(node);
+        singleNode = new NodeData(node);
+    }
+
+    public NodeData getOrphaned() {
+        return orphaned;
+    }
+
+    public NodeData getSingleNode() {
+        return singleNode;
+    }
+
+    //************************************************
+    // functions used to render display in index.jelly
+    //************************************************
+
+    public String getName() {
+        return orphaned.getName();
+    }
+
+    public String getNodeURL() {
+        return orphaned.getNodeURL();
+    }
+
+    public int getTotal() {
+        return count(orphaned) + count(singleNode);
+    }
+
+    private static int count(AbstractJobsGroup group) {
+        return group.getJobsCount() + group.getTriggeredJobsCount() + group.getJobsWithLabelDefaultValueCount();
+    }
+
+    /************************************
+     * Comparable interface implementation
+     ************************************/
+    // largest blast radius first
+    @Override
+    public int compareTo(NodeBlastRadius o) {
+        int result = o.getTotal() - getTotal();
+        return result != 0 ? result : getName().compareTo(o.getName());
+    }
+}
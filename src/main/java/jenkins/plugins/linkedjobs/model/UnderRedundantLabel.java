@@ -0,0 +1,87 @@
+/*
+ * The MIT License
+ * 
+ * Copyright (C) 2026 Dominique Brice
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is furnished
+ * to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package jenkins.plugins.linkedjobs.model;
+
+import hudson.model.Label;
+
+/**
+ * Jobs sharing a label that matches fewer online nodes than the minimum redundancy
+ * configured in {@link jenkins.plugins.linkedjobs.settings.GlobalSettings}
+ */
+public class UnderRedundantLabel extends AbstractJobsGroup implements Comparable<UnderRedundantLabel> {
+
+    private final Label label;
+    private final int onlineNodesCount;
+    private final int nodesCount;
+
+    public UnderRedundantLabel(Label label, int onlineNodesCount, int nodesCount) {
+        super();
+        this.label = label;
+        this.onlineNodesCount = onlineNodesCount;
+        this.nodesCount = nodesCount;
+    }
+
+    //************************************************
+    // functions used to render display in index.jelly
+    //************************************************
+
+    public String getLabel() {
+        return label.getDisplayName();
+    }
+
+    public String getLabelURL() {
+        return label.getUrl();
+    }
+
+    // matching nodes that are online, when the snapshot was computed
+    public int getOnlineNodesCount() {
+        return onlineNodesCount;
+    }
+
+    // matching nodes, online or not
+    public int getNodesCount() {
+        return nodesCount;
+    }
+
+    /************************************
+     * Comparable interface implementation
+     ************************************/
+    // least redundant first
+    @Override
+    public int compareTo(UnderRedundantLabel o) {
+        int result = onlineNodesCount - o.onlineNodesCount;
+        return result != 0 ? result : label.compareTo(o.label);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return (o instanceof UnderRedundantLabel) && this.compareTo((UnderRedundantLabel) o) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        return label.hashCode();
+    }
+}
@@ -64,6 +64,30 @@ public class GlobalSettings extends GlobalConfiguration {
      */
     private boolean showLabellessJobs = true;
     
+    /**
+     * number of threads used to scan all jobs when the plugin's indexes are built
+     * from scratch. 0 means one thread per available processor
+     */
+    private int scanParallelism = 0;
+    
+    /**
+     * number of minutes after which the Labels Dashboard is computed again in the
+     * background. 0 means that it is computed each time it is displayed
+     */
+    private int refreshInterval = 0;
+    
+    /**
+     * jobs whose label matches fewer online nodes than this are listed in the
+     * dashboard. 0 means that they are not listed
+     */
+    private int minimumRedundancy = 2;
+    
+    /**
+     * toggle to determine whether a label that a cloud can provision is considered
+     * redundant enough, whatever the number of online nodes matching it
+     */
+    private boolean countClouds = false;
+    
     public GlobalSettings() {
         // this loads the settings from this plugin xml file
         // into this instance's private members
@@ -90,6 +114,10 @@ public class GlobalSettings extends GlobalConfiguration {
         dashboardOrphanedJobsDetailedView = formData.getBoolean("dashboardOrphanedJobsDetailedView");
         showSingleNodeJobs = formData.getBoolean("showSingleNodeJobs");
         showLabellessJobs = formData.getBoolean("showLabellessJobs");
+        scanParallelism = Math.max(0, formData.optInt("scanParallelism", 0));
+        refreshInterval = Math.max(0, formData.optInt("refreshInterval", 0));
+        minimumRedundancy = Math.max(0, formData.optInt("minimumRedundancy", 2));
+        countClouds = formData.optBoolean("countClouds", false);
         
         // save this instance members to the plugin configuration file
         save();
@@ -111,4 +139,25 @@ public class GlobalSettings extends GlobalConfiguration {
     public boolean getShowLabellessJobs() {
         return showLabellessJobs;
     }
+    
+    public int getScanParallelism() {
+        return scanParallelism;
+    }
+    
+    public int getRefreshInterval() {
+        return refreshInterval;
+    }
+    
+    public void setRefreshInterval(int refreshInterval) {
+        this.refreshInterval = Math.max(0, refreshInterval);
+        save();
+    }
+    
+    public int getMinimumRedundancy() {
+        return minimumRedundancy;
+    }
+    
+    public boolean getCountClouds() {
+        return countClouds;
+    }
 }
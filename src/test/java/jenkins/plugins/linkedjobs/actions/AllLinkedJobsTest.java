@@ -0,0 +1,75 @@
+/*
+ * The MIT License
+ * 
+ * Copyright (C) 2026 Dominique Brice
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is furnished
+ * to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package jenkins.plugins.linkedjobs.actions;
+
+import hudson.model.FreeStyleProject;
+
+import java.io.StringWriter;
+
+import jenkins.plugins.linkedjobs.helpers.NodesReportWriter;
+import net.sf.json.JSONArray;
+import net.sf.json.JSONObject;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.jvnet.hudson.test.JenkinsRule;
+
+public class AllLinkedJobsTest {
+
+    @Rule
+    public JenkinsRule j = new JenkinsRule();
+
+    @Test
+    public void testNodesReport() throws Exception {
+        j.createSlave("node1", "linux", null);
+        j.createSlave("node2", "linux windows", null);
+        FreeStyleProject linuxJob = j.createFreeStyleProject("linuxJob");
+        linuxJob.setAssignedLabel(j.jenkins.getLabel("linux"));
+        FreeStyleProject windowsJob = j.createFreeStyleProject("windowsJob");
+        windowsJob.setAssignedLabel(j.jenkins.getLabel("windows"));
+
+        StringWriter w = new StringWriter();
+        new NodesReportWriter(new AllLinkedJobs().getJobsGroups()).write(w);
+        String[] lines = w.toString().split("\n");
+        // master, node1, node2
+        Assert.assertEquals(3, lines.length);
+        Assert.assertEquals(0, JSONObject.fromObject(lines[0]).getJSONArray("linkedJobs").size());
+
+        JSONObject node1 = JSONObject.fromObject(lines[1]);
+        Assert.assertEquals("node1", node1.getString("name"));
+        JSONArray groups = node1.getJSONArray("linkedJobs");
+        Assert.assertEquals(1, groups.size());
+        Assert.assertEquals("linux", groups.getJSONObject(0).getString("label"));
+        Assert.assertFalse(groups.getJSONObject(0).getBoolean("exclusive"));
+
+        JSONObject node2 = JSONObject.fromObject(lines[2]);
+        groups = node2.getJSONArray("linkedJobs");
+        Assert.assertEquals(2, groups.size());
+        JSONObject windows = groups.getJSONObject(1);
+        Assert.assertTrue(windows.getBoolean("exclusive"));
+        Assert.assertEquals("windowsJob", windows.getJSONArray("jobs").getJSONObject(0).getString("fullName"));
+    }
+}
@@ -26,6 +26,15 @@ package jenkins.plugins.linkedjobs.actions;
 
 import hudson.model.Label;
 import hudson.model.labels.LabelAtom;
+import hudson.slaves.DumbSlave;
+import hudson.slaves.OfflineCause;
+
+import java.net.URL;
+
+import javax.servlet.http.HttpServletResponse;
+
+import com.gargoylesoftware.htmlunit.WebRequest;
+import com.gargoylesoftware.htmlunit.WebResponse;
 
 import org.junit.Assert;
 import org.junit.Rule;
@@ -53,4 +62,41 @@ public class LabelLinkedJobsActionTest {
         Assert.assertTrue(action.isLabelRelevant(Label.parseExpression("macos&&jdk7")));
         Assert.assertTrue(action.isLabelRelevant(Label.parseExpression("macos&&!jdk7")));
     }
+
+    @Test
+    public void testNodeChangesAreNotCached() throws Exception {
+        DumbSlave node = j.createOnlineSlave(j.jenkins.getLabel("linux"));
+        j.createFreeStyleProject("job").setAssignedLabel(j.jenkins.getLabel("linux"));
+        JenkinsRule.WebClient wc = j.createWebClient().withThrowExceptionOnFailingStatusCode(false);
+        // ETags depend on the session, which the first page creates
+        get(wc, "", null);
+
+        // the status of builds shown by HTML pages changes without any event
+        for (String page : new String[] { "label/linux/linkedjobs/", "labelsdashboard/" }) {
+            Assert.assertNull(page, get(wc, page, null).getResponseHeaderValue("ETag"));
+        }
+        String page = "labelsdashboard/labelsData";
+        String etag = get(wc, page, null).getResponseHeaderValue("ETag");
+        Assert.assertNotNull(etag);
+        Assert.assertEquals(HttpServletResponse.SC_NOT_MODIFIED, get(wc, page, etag).getStatusCode());
+
+        // nodes are saved without any event, changes are found when the next request comes
+        node.setLabelString("linux windows");
+        j.jenkins.updateNode(node);
+        WebResponse rsp = get(wc, page, etag);
+        Assert.assertEquals(HttpServletResponse.SC_OK, rsp.getStatusCode());
+
+        // online nodes matter too
+        etag = rsp.getResponseHeaderValue("ETag");
+        node.toComputer().setTemporarilyOffline(true, new OfflineCause.ByCLI("test"));
+        Assert.assertEquals(HttpServletResponse.SC_OK, get(wc, page, etag).getStatusCode());
+    }
+
+    private WebResponse get(JenkinsRule.WebClient wc, String page, String etag) throws Exception {
+        WebRequest req = new WebRequest(new URL(j.getURL(), page));
+        if (etag != null) {
+            req.setAdditionalHeader("If-None-Match", etag);
+        }
+        return wc.getPage(req).getWebResponse();
+    }
 }
@@ -0,0 +1,148 @@
+/*
+ * The MIT License
+ * 
+ * Copyright (C) 2026 Dominique Brice
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is furnished
+ * to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package jenkins.plugins.linkedjobs.benchmark;
+
+import hudson.model.AbstractProject;
+import hudson.model.Label;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import jenkins.plugins.linkedjobs.actions.LabelLinkedJobsAction;
+import jenkins.plugins.linkedjobs.helpers.CloudProvisioningCache;
+import jenkins.plugins.linkedjobs.helpers.DashboardSnapshotBuilder;
+import jenkins.plugins.linkedjobs.helpers.LabelJobsIndex;
+import jenkins.plugins.linkedjobs.helpers.NodeMatchCache;
+import jenkins.plugins.linkedjobs.helpers.TriggeredJobsHelper;
+import jenkins.plugins.linkedjobs.model.JobsGroup;
+import jenkins.plugins.linkedjobs.model.TriggeredJob;
+
+import org.junit.runner.Description;
+import org.junit.runners.model.Statement;
+import org.jvnet.hudson.test.JenkinsRule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Benchmarks of the pages of this plugin on an instance generated by {@link LabelsFixture}.
+ * <p>
+ * The *Cold benchmarks drop all caches of the plugin first, like after a restart, while
+ * the other ones measure a page display once the caches are built.
+ * <p>
+ * The default size is small enough for a quick run. Larger instances are generated with
+ * -Dbenchmark.jobs=1000,10000,100000 -Dbenchmark.nodes=10,2000, see {@link BenchmarkRunner},
+ * or with -p jobs=... -p nodes=... when running JMH directly.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class LabelAnalysisBenchmark {
+
+    @Param({ "1000" })
+    public int jobs;
+
+    @Param({ "10" })
+    public int nodes;
+
+    @Param({ "3" })
+    public int depth;
+
+    private JenkinsRule rule;
+    private LabelLinkedJobsAction labelAction;
+
+    @Setup(Level.Trial)
+    public void setup() throws Throwable {
+        rule = new JenkinsRule();
+        // JenkinsRule needs a description of the running test, even when started by hand
+        rule.apply(new Statement() {
+            @Override
+            public void evaluate() {
+            }
+        }, Description.createTestDescription(LabelAnalysisBenchmark.class, "benchmark"));
+        rule.before();
+        LabelsFixture.populate(rule, jobs, nodes, depth);
+        labelAction = new LabelLinkedJobsAction(rule.jenkins.getLabelAtom(LabelsFixture.COMMON_LABEL));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        rule.after();
+    }
+
+    // Linked Jobs page of a label used by many jobs
+    @Benchmark
+    public List<JobsGroup> buildJobsGroups() {
+        return labelAction.getJobsGroups();
+    }
+
+    @Benchmark
+    public List<JobsGroup> buildJobsGroupsCold() {
+        dropCaches();
+        return labelAction.getJobsGroups();
+    }
+
+    // all sections of the Labels Dashboard, including getLabelsData() and getSingleNodeJobs(),
+    // are computed at once
+    @Benchmark
+    public Object labelsDashboard() {
+        return DashboardSnapshotBuilder.build();
+    }
+
+    @Benchmark
+    public Object labelsDashboardCold() {
+        dropCaches();
+        return DashboardSnapshotBuilder.build();
+    }
+
+    @Benchmark
+    public HashMap<Label, HashMap<AbstractProject<?, ?>, TriggeredJob>> populateTriggeredJobs() {
+        HashMap<Label, HashMap<AbstractProject<?, ?>, TriggeredJob>> result =
+                new HashMap<Label, HashMap<AbstractProject<?, ?>, TriggeredJob>>();
+        TriggeredJobsHelper.populateTriggeredJobs(result);
+        return result;
+    }
+
+    @Benchmark
+    public HashMap<Label, HashMap<AbstractProject<?, ?>, TriggeredJob>> populateTriggeredJobsCold() {
+        TriggeredJobsHelper.invalidate();
+        return populateTriggeredJobs();
+    }
+
+    private static void dropCaches() {
+        LabelJobsIndex.get().invalidate();
+        TriggeredJobsHelper.invalidate();
+        NodeMatchCache.get().invalidate();
+        CloudProvisioningCache.get().invalidate();
+    }
+}
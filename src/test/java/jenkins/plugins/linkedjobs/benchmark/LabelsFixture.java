@@ -0,0 +1,169 @@
+/*
+ * The MIT License
+ * 
+ * Copyright (C) 2026 Dominique Brice
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is furnished
+ * to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package jenkins.plugins.linkedjobs.benchmark;
+
+import hudson.BulkChange;
+import hudson.model.FreeStyleProject;
+import hudson.model.Node;
+import hudson.plugins.parameterizedtrigger.AbstractBuildParameters;
+import hudson.plugins.parameterizedtrigger.BlockableBuildTriggerConfig;
+import hudson.plugins.parameterizedtrigger.TriggerBuilder;
+import hudson.slaves.DumbSlave;
+import hudson.slaves.JNLPLauncher;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import jenkins.model.Jenkins;
+
+import org.jvnet.hudson.test.JenkinsRule;
+import org.jvnet.hudson.test.MockFolder;
+import org.jvnet.jenkins.plugins.nodelabelparameter.parameterizedtrigger.NodeLabelBuildParameter;
+
+/**
+ * Generates a synthetic Jenkins instance for the benchmarks: offline nodes with a few labels
+ * each, jobs spread in folders and configured with label expressions of a given depth,
+ * and jobs triggering other jobs with a label. Everything is generated from a fixed seed,
+ * so that results can be compared between runs and between releases.
+ */
+public final class LabelsFixture {
+
+    // jobs per folder
+    private static final int FOLDER_SIZE = 100;
+    // a label defined by many nodes and used by many jobs
+    public static final String COMMON_LABEL = "linux";
+
+    private static final String[] OS = { "linux", "windows", "macos", "freebsd", "aix", "solaris" };
+    private static final String[] ARCH = { "amd64", "arm64", "ppc64le", "s390x" };
+    private static final int TOOLS = 50;
+    private static final int ZONES = 20;
+
+    private final Random random = new Random(20141019L);
+    private final int depth;
+
+    private LabelsFixture(int depth) {
+        this.depth = depth;
+    }
+
+    /**
+     * @param rule a started JenkinsRule
+     * @param jobs number of jobs to create
+     * @param nodes number of nodes to create, besides master
+     * @param depth depth of the label expressions assigned to jobs, 1 being a single label
+     */
+    public static void populate(JenkinsRule rule, int jobs, int nodes, int depth) throws Exception {
+        LabelsFixture fixture = new LabelsFixture(depth);
+        fixture.createNodes(rule.jenkins, nodes);
+        fixture.createJobs(rule, jobs);
+    }
+
+    private void createNodes(Jenkins jenkins, int count) throws Exception {
+        List<Node> nodes = new ArrayList<Node>(count);
+        for (int i = 0; i < count; i++) {
+            DumbSlave node = new DumbSlave("node-" + i, "/tmp/node-" + i, new JNLPLauncher(false));
+            node.setLabelString(OS[i % OS.length] + " " + ARCH[i % ARCH.length] + " " + tool() + " " + tool()
+                    + " zone" + (i % ZONES));
+            node.setNumExecutors(2);
+            if (i % 10 == 0) {
+                node.setMode(Node.Mode.EXCLUSIVE);
+            }
+            nodes.add(node);
+        }
+        // one save instead of one per node
+        jenkins.setNodes(nodes);
+    }
+
+    private void createJobs(JenkinsRule rule, int count) throws Exception {
+        // like on real instances, many jobs share the same labels
+        List<String> expressions = new ArrayList<String>();
+        for (int i = 0; i < Math.max(50, count / 10); i++) {
+            expressions.add(expression(depth));
+        }
+
+        List<String> jobNames = new ArrayList<String>(count);
+        MockFolder folder = null;
+        for (int i = 0; i < count; i++) {
+            if (i % FOLDER_SIZE == 0) {
+                folder = rule.createFolder("folder-" + (i / FOLDER_SIZE));
+            }
+            FreeStyleProject job = folder.createProject(FreeStyleProject.class, "job-" + i);
+            jobNames.add(job.getFullName());
+            try (BulkChange bc = new BulkChange(job)) {
+                if (i % 50 == 1) {
+                    // some jobs can't run anywhere
+                    job.setAssignedLabel(rule.jenkins.getLabel("missing" + (i % 7)));
+                }
+                else if (i % 20 != 0) {
+                    // JENKINS-25163 - every 20th job has no label
+                    job.setAssignedLabel(rule.jenkins.getLabel(expressions.get(random.nextInt(expressions.size()))));
+                }
+                if (i % 10 == 5 && jobNames.size() > 2) {
+                    // JENKINS-27588 - trigger two previous jobs with a label
+                    String triggered = jobNames.get(random.nextInt(jobNames.size() - 1)) + ","
+                            + jobNames.get(random.nextInt(jobNames.size() - 1));
+                    List<AbstractBuildParameters> parameters = new ArrayList<AbstractBuildParameters>();
+                    parameters.add(new NodeLabelBuildParameter("NODE",
+                            expressions.get(random.nextInt(expressions.size()))));
+                    job.getBuildersList().add(new TriggerBuilder(
+                            new BlockableBuildTriggerConfig(triggered, null, parameters)));
+                }
+                bc.commit();
+            }
+        }
+    }
+
+    // a label expression of the given depth, 1 being a single label
+    private String expression(int depth) {
+        if (depth <= 1) {
+            return atom();
+        }
+        switch (random.nextInt(3)) {
+        case 0:
+            return "(" + expression(depth - 1) + ") && " + atom();
+        case 1:
+            return "(" + expression(depth - 1) + ") || " + atom();
+        default:
+            return "!(" + expression(depth - 1) + ") && " + atom();
+        }
+    }
+
+    private String atom() {
+        switch (random.nextInt(4)) {
+        case 0:
+            return OS[random.nextInt(OS.length)];
+        case 1:
+            return ARCH[random.nextInt(ARCH.length)];
+        case 2:
+            return tool();
+        default:
+            return "zone" + random.nextInt(ZONES);
+        }
+    }
+
+    private String tool() {
+        return "tool" + random.nextInt(TOOLS);
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * The MIT License
+ * 
+ * Copyright (C) 2026 Dominique Brice
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is furnished
+ * to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package jenkins.plugins.linkedjobs.extensions;
+
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import jenkins.plugins.linkedjobs.helpers.LabelJobsIndex;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.jvnet.hudson.test.JenkinsRule;
+
+public class IndexesWarmUpTest {
+
+    @Rule
+    public JenkinsRule j = new JenkinsRule();
+
+    @Test
+    public void testIndexesAreBuiltAtStartup() throws Exception {
+        Future<?> warmUp = IndexesWarmUp.getLastWarmUp();
+        Assert.assertNotNull(warmUp);
+        warmUp.get(1, TimeUnit.MINUTES);
+        // and not dropped by the onLoaded() call at the end of startup
+        Assert.assertTrue(LabelJobsIndex.get().isLoaded());
+    }
+
+    @Test
+    public void testReloadDoesNotWarmUpAgain() throws Exception {
+        j.createFreeStyleProject("job");
+        Future<?> warmUp = IndexesWarmUp.getLastWarmUp();
+        warmUp.get(1, TimeUnit.MINUTES);
+
+        j.jenkins.reload();
+        // indexes are dropped, and built again the next time they are needed
+        Assert.assertSame(warmUp, IndexesWarmUp.getLastWarmUp());
+        Assert.assertFalse(LabelJobsIndex.get().isLoaded());
+        Assert.assertEquals(1, LabelJobsIndex.get().getJobsWithNoLabel().size());
+        Assert.assertTrue(LabelJobsIndex.get().isLoaded());
+    }
+}
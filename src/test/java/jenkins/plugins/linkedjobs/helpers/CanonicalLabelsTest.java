@@ -0,0 +1,113 @@
+/*
+ * The MIT License
+ * 
+ * Copyright (C) 2026 Dominique Brice
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is furnished
+ * to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package jenkins.plugins.linkedjobs.helpers;
+
+import hudson.model.FreeStyleProject;
+import hudson.model.Label;
+import hudson.model.Node;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.jvnet.hudson.test.JenkinsRule;
+
+public class CanonicalLabelsTest {
+
+    @Rule
+    public JenkinsRule j = new JenkinsRule();
+
+    @Test
+    public void testEquivalentLabels() throws Exception {
+        assertEquivalent("linux&&x64", "x64&&linux");
+        assertEquivalent("a&&b&&c", "c&&(b&&a)");
+        assertEquivalent("a||b", "b||a||a");
+        assertEquivalent("!!a", "a");
+        assertEquivalent("a->b", "b||!a");
+        assertEquivalent("a<->b", "b<->a");
+        Assert.assertNotEquals(key("a&&b"), key("a||b"));
+        Assert.assertNotEquals(key("!a&&b"), key("!(a&&b)"));
+    }
+
+    @Test
+    public void testAtomsAreCanonical() throws Exception {
+        Label linux = j.jenkins.getLabel("linux");
+        Assert.assertSame(linux, CanonicalLabels.canonical(linux));
+        Assert.assertEquals("linux&&x64", CanonicalLabels.canonical(j.jenkins.getLabel("x64 && linux")).getExpression());
+    }
+
+    @Test
+    public void testProgramMatchesLikeLabel() throws Exception {
+        j.createSlave("a", "linux amd64", null);
+        j.createSlave("b", "windows amd64", null);
+        for (String expression : new String[] { "linux && !amd64", "(linux || windows) && amd64",
+                "linux -> amd64", "linux <-> windows", "!!linux" }) {
+            Label label = j.jenkins.getLabel(expression);
+            LabelProgram program = CanonicalLabels.program(label);
+            for (Node node : j.jenkins.getNodes()) {
+                Assert.assertEquals(expression, label.matches(node), program.matches(node.getAssignedLabels()));
+            }
+        }
+    }
+
+    @Test
+    public void testEquivalentLabelsShareOneGroup() throws Exception {
+        FreeStyleProject p1 = j.createFreeStyleProject();
+        p1.setAssignedLabel(j.jenkins.getLabel("linux&&x64"));
+        FreeStyleProject p2 = j.createFreeStyleProject();
+        p2.setAssignedLabel(j.jenkins.getLabel("x64 && linux"));
+
+        LabelJobsIndex.get().invalidate();
+        Assert.assertEquals(1, LabelJobsIndex.get().getLabels().size());
+        Assert.assertEquals(2, LabelJobsIndex.get().getJobs(j.jenkins.getLabel("linux&&x64")).size());
+    }
+
+    @Test
+    public void testLabelsNoJobUsesAreDropped() throws Exception {
+        FreeStyleProject p1 = j.createFreeStyleProject();
+        Label label = j.jenkins.getLabel("x64 && linux");
+        p1.setAssignedLabel(label);
+        Assert.assertEquals(1, LabelJobsIndex.get().getJobs(label).size());
+        Assert.assertTrue(CanonicalLabels.contains(label));
+
+        p1.setAssignedLabel(j.jenkins.getLabel("windows"));
+        Assert.assertFalse(CanonicalLabels.contains(label));
+    }
+
+    @Test
+    public void testEntriesAreBounded() throws Exception {
+        for (int i = 0; i < CanonicalLabels.MAX_ENTRIES + 100; i++) {
+            CanonicalLabels.program(Label.parseExpression("a" + i + " && b"));
+        }
+        Assert.assertEquals(CanonicalLabels.MAX_ENTRIES, CanonicalLabels.size());
+    }
+
+    private void assertEquivalent(String expression1, String expression2) {
+        Assert.assertEquals(expression1 + " / " + expression2, key(expression1), key(expression2));
+    }
+
+    private String key(String expression) {
+        return CanonicalLabels.program(j.jenkins.getLabel(expression)).getKey();
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * The MIT License
+ * 
+ * Copyright (C) 2026 Dominique Brice
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is furnished
+ * to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package jenkins.plugins.linkedjobs.helpers;
+
+import hudson.model.FreeStyleProject;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.jvnet.hudson.test.JenkinsRule;
+
+public class ChangeLogTest {
+
+    @Rule
+    public JenkinsRule j = new JenkinsRule();
+
+    @Test
+    public void testJobChanges() throws Exception {
+        LabelJobsIndex.get().load();
+        ChangeLog log = ChangeLog.get();
+        long since = log.getGeneration();
+
+        FreeStyleProject job = j.createFreeStyleProject("job");
+        job.setAssignedLabel(j.jenkins.getLabel("linux&&x64"));
+        ChangeLog.Delta delta = log.getDelta(since, log.getGeneration());
+        Assert.assertSame(job, delta.getJobs().get("job"));
+        Assert.assertEquals("linux&&x64", delta.getJobLabel("job").getExpression());
+        Assert.assertTrue(delta.getLabels().contains("linux"));
+        Assert.assertTrue(delta.getLabels().contains("x64"));
+
+        // nothing new
+        since = log.getGeneration();
+        Assert.assertTrue(log.getDelta(since, since).getJobs().isEmpty());
+
+        job.delete();
+        delta = log.getDelta(since, log.getGeneration());
+        Assert.assertTrue(delta.getJobs().isEmpty());
+        Assert.assertSame(job, delta.getRemovedJobs().get("job"));
+    }
+
+    @Test
+    public void testReset() throws Exception {
+        ChangeLog log = ChangeLog.get();
+        long since = log.getGeneration();
+        log.reset();
+        Assert.assertNull(log.getDelta(since, log.getGeneration()));
+        Assert.assertNotNull(log.getDelta(log.getGeneration(), log.getGeneration()));
+        // from the future, e.g. before a restart
+        Assert.assertNull(log.getDelta(log.getGeneration() + 1, log.getGeneration()));
+    }
+}
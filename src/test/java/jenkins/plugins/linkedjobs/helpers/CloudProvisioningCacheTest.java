@@ -0,0 +1,108 @@
+/*
+ * The MIT License
+ * 
+ * Copyright (C) 2026 Dominique Brice
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is furnished
+ * to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package jenkins.plugins.linkedjobs.helpers;
+
+import hudson.model.Label;
+import hudson.slaves.Cloud;
+import hudson.slaves.NodeProvisioner;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.jvnet.hudson.test.JenkinsRule;
+
+public class CloudProvisioningCacheTest {
+
+    @Rule
+    public JenkinsRule j = new JenkinsRule();
+
+    @Test
+    public void testResultsAreCached() throws Exception {
+        CountingCloud cloud = new CountingCloud("cloud", "linux");
+        j.jenkins.clouds.add(cloud);
+        CloudProvisioningCache cache = new CloudProvisioningCache();
+        Label linux = j.jenkins.getLabel("linux");
+        Label windows = j.jenkins.getLabel("windows");
+
+        Assert.assertTrue(cache.canProvision(linux));
+        Assert.assertEquals(1, cache.getProvisioningCloudsCount(linux));
+        Assert.assertEquals(Collections.<Cloud>singletonList(cloud), cache.getProvisioningClouds(linux));
+        Assert.assertFalse(cache.canProvision(windows));
+        Assert.assertFalse(cache.canProvision(windows));
+        // once per label
+        Assert.assertEquals(2, cloud.calls.get());
+
+        // results of a removed cloud are dropped
+        j.jenkins.clouds.remove(cloud);
+        Assert.assertFalse(cache.canProvision(linux));
+        CountingCloud other = new CountingCloud("other", "windows");
+        j.jenkins.clouds.add(other);
+        Assert.assertTrue(cache.canProvision(windows));
+        Assert.assertEquals(1, other.calls.get());
+    }
+
+    @Test
+    public void testInvalidatedWhenGlobalConfigurationIsSaved() throws Exception {
+        CountingCloud cloud = new CountingCloud("cloud", "linux");
+        j.jenkins.clouds.add(cloud);
+        CloudProvisioningCache cache = CloudProvisioningCache.get();
+        Label linux = j.jenkins.getLabel("linux");
+        Assert.assertTrue(cache.canProvision(linux));
+        Assert.assertTrue(cache.canProvision(linux));
+        Assert.assertEquals(1, cloud.calls.get());
+
+        // a cloud modified in place, then saved with the global configuration
+        cloud.labelString = "windows";
+        j.jenkins.save();
+        Assert.assertFalse(cache.canProvision(linux));
+        Assert.assertEquals(2, cloud.calls.get());
+    }
+
+    // a cloud provisioning a single label, counting how many times it is asked
+    static final class CountingCloud extends Cloud {
+        String labelString;
+        final transient AtomicInteger calls = new AtomicInteger();
+
+        CountingCloud(String name, String labelString) {
+            super(name);
+            this.labelString = labelString;
+        }
+
+        @Override
+        public Collection<NodeProvisioner.PlannedNode> provision(Label label, int excessWorkload) {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public boolean canProvision(Label label) {
+            calls.incrementAndGet();
+            return label != null && label.getExpression().equals(labelString);
+        }
+    }
+}
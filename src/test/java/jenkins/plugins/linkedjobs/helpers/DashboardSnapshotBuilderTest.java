@@ -0,0 +1,292 @@
+/*
+ * The MIT License
+ * 
+ * Copyright (C) 2026 Dominique Brice
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is furnished
+ * to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package jenkins.plugins.linkedjobs.helpers;
+
+import hudson.model.AbstractProject;
+import hudson.model.FreeStyleProject;
+import hudson.model.Label;
+import hudson.model.Node;
+import hudson.model.ParametersDefinitionProperty;
+import hudson.model.TopLevelItem;
+import hudson.plugins.parameterizedtrigger.AbstractBuildParameters;
+import hudson.plugins.parameterizedtrigger.BlockableBuildTriggerConfig;
+import hudson.plugins.parameterizedtrigger.TriggerBuilder;
+import hudson.slaves.DumbSlave;
+import hudson.slaves.OfflineCause;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import jenkins.model.Jenkins;
+import jenkins.plugins.linkedjobs.model.DashboardSnapshot;
+import jenkins.plugins.linkedjobs.model.NodeBlastRadius;
+import jenkins.plugins.linkedjobs.model.NodeData;
+import jenkins.plugins.linkedjobs.model.TriggeredJob;
+import jenkins.plugins.linkedjobs.model.UnderRedundantLabel;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.jvnet.hudson.test.JenkinsRule;
+import org.jvnet.jenkins.plugins.nodelabelparameter.LabelParameterDefinition;
+import org.jvnet.jenkins.plugins.nodelabelparameter.parameterizedtrigger.NodeLabelBuildParameter;
+
+public class DashboardSnapshotBuilderTest {
+
+    @Rule
+    public JenkinsRule j = new JenkinsRule();
+
+    @Test
+    public void testBlastRadius() throws Exception {
+        j.createSlave("node1", "linux gpu", null);
+        j.createSlave("node2", "linux", null);
+        j.createSlave("node3", "windows", null);
+        FreeStyleProject gpuJob = j.createFreeStyleProject("gpuJob");
+        gpuJob.setAssignedLabel(j.jenkins.getLabel("gpu"));
+        FreeStyleProject linuxJob = j.createFreeStyleProject("linuxJob");
+        linuxJob.setAssignedLabel(j.jenkins.getLabel("linux"));
+
+        DashboardSnapshot snapshot = DashboardSnapshotBuilder.build();
+        List<NodeBlastRadius> blastRadius = snapshot.getBlastRadius();
+        // node3 would not change anything
+        Assert.assertEquals(2, blastRadius.size());
+
+        // largest first
+        NodeBlastRadius node1 = blastRadius.get(0);
+        Assert.assertEquals("node1", node1.getName());
+        Assert.assertEquals(gpuJob, node1.getOrphaned().getJobs().get(0));
+        Assert.assertEquals(linuxJob, node1.getSingleNode().getJobs().get(0));
+        Assert.assertEquals(2, node1.getTotal());
+
+        NodeBlastRadius node2 = blastRadius.get(1);
+        Assert.assertEquals("node2", node2.getName());
+        Assert.assertEquals(0, node2.getOrphaned().getJobsCount());
+        Assert.assertEquals(linuxJob, node2.getSingleNode().getJobs().get(0));
+    }
+
+    @Test
+    public void testUnderRedundantLabels() throws Exception {
+        Label linux = j.jenkins.getLabel("linux");
+        j.createOnlineSlave(linux);
+        DumbSlave node2 = j.createOnlineSlave(linux);
+        FreeStyleProject job = j.createFreeStyleProject("job");
+        job.setAssignedLabel(linux);
+        // no node at all: orphaned, not under-redundant
+        FreeStyleProject orphaned = j.createFreeStyleProject("orphaned");
+        orphaned.setAssignedLabel(j.jenkins.getLabel("solaris"));
+
+        // 2 online nodes, as many as the default minimum redundancy
+        DashboardSnapshot snapshot = DashboardSnapshotBuilder.build();
+        Assert.assertEquals(2, snapshot.getMinimumRedundancy());
+        Assert.assertTrue(snapshot.getUnderRedundantLabels().isEmpty());
+        Assert.assertEquals(orphaned, snapshot.getOrphanedJobs().get(0));
+
+        node2.toComputer().setTemporarilyOffline(true, new OfflineCause.ByCLI("test"));
+        snapshot = DashboardSnapshotBuilder.build();
+        List<UnderRedundantLabel> underRedundant = snapshot.getUnderRedundantLabels();
+        Assert.assertEquals(1, underRedundant.size());
+        Assert.assertEquals("linux", underRedundant.get(0).getLabel());
+        Assert.assertEquals(1, underRedundant.get(0).getOnlineNodesCount());
+        Assert.assertEquals(2, underRedundant.get(0).getNodesCount());
+        Assert.assertEquals(job, underRedundant.get(0).getJobs().get(0));
+
+        // back online
+        node2.toComputer().setTemporarilyOffline(false, null);
+        Assert.assertTrue(DashboardSnapshotBuilder.build().getUnderRedundantLabels().isEmpty());
+    }
+
+    @Test
+    public void testCloudOnlyLabelIsUnderRedundant() throws Exception {
+        j.jenkins.clouds.add(new CloudProvisioningCacheTest.CountingCloud("cloud", "docker"));
+        FreeStyleProject job = j.createFreeStyleProject("job");
+        job.setAssignedLabel(j.jenkins.getLabel("docker"));
+
+        // clouds are not counted by default: no node at all, but not orphaned either
+        DashboardSnapshot snapshot = DashboardSnapshotBuilder.build();
+        Assert.assertTrue(snapshot.getOrphanedJobs().isEmpty());
+        List<UnderRedundantLabel> underRedundant = snapshot.getUnderRedundantLabels();
+        Assert.assertEquals(1, underRedundant.size());
+        Assert.assertEquals("docker", underRedundant.get(0).getLabel());
+        Assert.assertEquals(0, underRedundant.get(0).getNodesCount());
+        Assert.assertEquals(job, underRedundant.get(0).getJobs().get(0));
+    }
+
+    @Test
+    public void testSameSectionsAsScanningAllJobs() throws Exception {
+        j.createSlave("node1", "linux gpu", null);
+        j.createSlave("node2", "linux", null);
+        j.createSlave("node3", "windows", null);
+        j.createFreeStyleProject("linuxJob").setAssignedLabel(j.jenkins.getLabel("linux"));
+        j.createFreeStyleProject("gpuJob").setAssignedLabel(j.jenkins.getLabel("gpu"));
+        j.createFreeStyleProject("windowsJob").setAssignedLabel(j.jenkins.getLabel("windows && !gpu"));
+        j.createFreeStyleProject("solarisJob").setAssignedLabel(j.jenkins.getLabel("solaris"));
+        j.createFreeStyleProject("aixJob").setAssignedLabel(j.jenkins.getLabel("aix || hpux"));
+        j.createFreeStyleProject("noLabelJob");
+        j.createFreeStyleProject("otherNoLabelJob");
+
+        // parameterized jobs, triggered with single-node, orphaned and redundant labels
+        FreeStyleProject triggered = j.createFreeStyleProject("triggered");
+        triggered.addProperty(new ParametersDefinitionProperty(
+                new LabelParameterDefinition("NODE", "", "solaris", false, false, "")));
+        FreeStyleProject triggeredGpu = j.createFreeStyleProject("triggeredGpu");
+        triggeredGpu.addProperty(new ParametersDefinitionProperty(
+                new LabelParameterDefinition("NODE", "", "gpu", false, false, "")));
+        FreeStyleProject triggering = j.createFreeStyleProject("triggering");
+        triggering.getBuildersList().add(new TriggerBuilder(
+                trigger("triggered", "gpu"), trigger("triggeredGpu", "aix"), trigger("triggered", "linux")));
+
+        HashMap<Label, HashMap<AbstractProject<?, ?>, TriggeredJob>> triggeredJobsByLabel =
+                new HashMap<Label, HashMap<AbstractProject<?, ?>, TriggeredJob>>();
+        TriggeredJobsHelper.populateTriggeredJobs(triggeredJobsByLabel);
+        HashMap<Label, List<AbstractProject<?, ?>>> jobsByDefaultLabel = new HashMap<Label, List<AbstractProject<?, ?>>>();
+        TriggeredJobsHelper.populateJobsWithLabelDefaultValue(jobsByDefaultLabel);
+        Assert.assertFalse(triggeredJobsByLabel.isEmpty());
+        Assert.assertFalse(jobsByDefaultLabel.isEmpty());
+
+        // expected sections, computed the way the dashboard did before the snapshot
+        List<String> orphaned = new ArrayList<String>();
+        List<String> noLabel = new ArrayList<String>();
+        Map<String, TreeSet<String>> singleNode = new TreeMap<String, TreeSet<String>>();
+        for (AbstractProject<?, ?> job : j.jenkins.getAllItems(AbstractProject.class)) {
+            if (!(job instanceof TopLevelItem)) {
+                continue;
+            }
+            Label label = job.getAssignedLabel();
+            if (label == null) {
+                noLabel.add(job.getName());
+                continue;
+            }
+            List<Node> nodes = matchingNodes(label);
+            if (nodes.isEmpty()) {
+                orphaned.add(job.getName());
+            }
+            else if (nodes.size() == 1) {
+                add(singleNode, nodes.get(0), "job:" + job.getName());
+            }
+        }
+        TreeSet<String> orphanedTriggered = new TreeSet<String>();
+        for (Map.Entry<Label, HashMap<AbstractProject<?, ?>, TriggeredJob>> entry : triggeredJobsByLabel.entrySet()) {
+            List<Node> nodes = matchingNodes(entry.getKey());
+            for (TriggeredJob job : entry.getValue().values()) {
+                if (nodes.isEmpty()) {
+                    orphanedTriggered.add(job.getTriggeredJob().getName());
+                }
+                else if (nodes.size() == 1) {
+                    add(singleNode, nodes.get(0), "triggered:" + job.getTriggeredJob().getName());
+                }
+            }
+        }
+        TreeSet<String> orphanedDefaultValue = new TreeSet<String>();
+        for (Map.Entry<Label, List<AbstractProject<?, ?>>> entry : jobsByDefaultLabel.entrySet()) {
+            List<Node> nodes = matchingNodes(entry.getKey());
+            for (AbstractProject<?, ?> job : entry.getValue()) {
+                if (nodes.isEmpty()) {
+                    orphanedDefaultValue.add(job.getName());
+                }
+                else if (nodes.size() == 1) {
+                    add(singleNode, nodes.get(0), "default:" + job.getName());
+                }
+            }
+        }
+        Collections.sort(orphaned);
+        Collections.sort(noLabel);
+
+        DashboardSnapshot snapshot = DashboardSnapshotBuilder.build();
+        Assert.assertEquals(orphaned, names(snapshot.getOrphanedJobs()));
+        Assert.assertEquals(noLabel, names(snapshot.getJobsWithNoLabels()));
+        Assert.assertEquals(orphanedDefaultValue, new TreeSet<String>(names(snapshot.getOrphanedDefaultValueJobs())));
+        TreeSet<String> actualOrphanedTriggered = new TreeSet<String>();
+        for (TriggeredJob job : snapshot.getOrphanedTriggeredJobs()) {
+            actualOrphanedTriggered.add(job.getTriggeredJob().getName());
+        }
+        Assert.assertEquals(orphanedTriggered, actualOrphanedTriggered);
+
+        Map<String, TreeSet<String>> actualSingleNode = new TreeMap<String, TreeSet<String>>();
+        for (NodeData node : snapshot.getSingleNodeJobs()) {
+            TreeSet<String> jobs = new TreeSet<String>();
+            for (AbstractProject<?, ?> job : node.getJobs()) {
+                jobs.add("job:" + job.getName());
+            }
+            for (TriggeredJob job : node.getTriggeredJobs()) {
+                jobs.add("triggered:" + job.getTriggeredJob().getName());
+            }
+            for (AbstractProject<?, ?> job : node.getJobsWithLabelDefaultValue()) {
+                jobs.add("default:" + job.getName());
+            }
+            actualSingleNode.put(node.getName(), jobs);
+        }
+        Assert.assertEquals(singleNode, actualSingleNode);
+        // the setup does cover every section
+        Assert.assertEquals(2, orphaned.size());
+        Assert.assertEquals(2, noLabel.size());
+        Assert.assertFalse(orphanedTriggered.isEmpty());
+        Assert.assertFalse(orphanedDefaultValue.isEmpty());
+        Assert.assertTrue(singleNode.get("node1").size() > 1);
+    }
+
+    private static BlockableBuildTriggerConfig trigger(String projects, String label) {
+        List<AbstractBuildParameters> parameters = new ArrayList<AbstractBuildParameters>();
+        parameters.add(new NodeLabelBuildParameter("NODE", label));
+        return new BlockableBuildTriggerConfig(projects, null, parameters);
+    }
+
+    // nodes matching a label, the way the dashboard used to look for them (no cloud here)
+    private static List<Node> matchingNodes(Label label) {
+        List<Node> result = new ArrayList<Node>();
+        Jenkins jenkins = Jenkins.getInstance();
+        if (label.matches(jenkins)) {
+            result.add(jenkins);
+        }
+        for (Node node : jenkins.getNodes()) {
+            if (label.matches(node)) {
+                result.add(node);
+            }
+        }
+        return result;
+    }
+
+    private static void add(Map<String, TreeSet<String>> singleNode, Node node, String job) {
+        TreeSet<String> jobs = singleNode.get(node.getDisplayName());
+        if (jobs == null) {
+            jobs = new TreeSet<String>();
+            singleNode.put(node.getDisplayName(), jobs);
+        }
+        jobs.add(job);
+    }
+
+    private static List<String> names(Collection<AbstractProject<?, ?>> jobs) {
+        List<String> names = new ArrayList<String>();
+        for (AbstractProject<?, ?> job : jobs) {
+            names.add(job.getName());
+        }
+        return names;
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * The MIT License
+ * 
+ * Copyright (C) 2026 Dominique Brice
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is furnished
+ * to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package jenkins.plugins.linkedjobs.helpers;
+
+import hudson.model.User;
+import hudson.security.ACL;
+import hudson.security.ACLContext;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import jenkins.plugins.linkedjobs.model.DashboardSnapshot;
+import jenkins.plugins.linkedjobs.settings.GlobalSettings;
+
+import org.acegisecurity.Authentication;
+import org.acegisecurity.GrantedAuthority;
+import org.acegisecurity.GrantedAuthorityImpl;
+import org.acegisecurity.providers.UsernamePasswordAuthenticationToken;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.jvnet.hudson.test.JenkinsRule;
+
+public class DashboardSnapshotProviderTest {
+
+    @Rule
+    public JenkinsRule j = new JenkinsRule();
+
+    @Test
+    public void testLastSnapshotIsServed() throws Exception {
+        // computed each time by default
+        Assert.assertEquals(0, GlobalSettings.get().getRefreshInterval());
+        GlobalSettings.get().setRefreshInterval(5);
+        DashboardSnapshotProvider provider = DashboardSnapshotProvider.get();
+        DashboardSnapshot first = provider.refresh();
+        Assert.assertSame(first, provider.getSnapshot());
+
+        // recent snapshots are not computed again in the background
+        provider.refreshAll();
+        Assert.assertSame(first, provider.getSnapshot());
+
+        DashboardSnapshot second = provider.refresh();
+        Assert.assertNotSame(first, second);
+        Assert.assertSame(second, provider.getSnapshot());
+    }
+
+    @Test
+    public void testConcurrentRequestsShareOneComputation() throws Exception {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicInteger builds = new AtomicInteger();
+        final DashboardSnapshotProvider provider = new DashboardSnapshotProvider() {
+            @Override
+            DashboardSnapshot build() {
+                builds.incrementAndGet();
+                started.countDown();
+                try {
+                    release.await();
+                }
+                catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+                return super.build();
+            }
+        };
+        final AtomicReference<DashboardSnapshot> first = new AtomicReference<DashboardSnapshot>();
+        final AtomicReference<DashboardSnapshot> second = new AtomicReference<DashboardSnapshot>();
+        Thread firstRequest = new Thread(new Runnable() {
+            public void run() {
+                first.set(provider.getSnapshot());
+            }
+        });
+        Thread secondRequest = new Thread(new Runnable() {
+            public void run() {
+                second.set(provider.getSnapshot());
+            }
+        });
+
+        firstRequest.start();
+        started.await();
+        // the second request waits for the computation of the first one
+        secondRequest.start();
+        while (secondRequest.getState() != Thread.State.WAITING) {
+            Thread.sleep(10);
+        }
+        release.countDown();
+        firstRequest.join();
+        secondRequest.join();
+
+        Assert.assertEquals(1, builds.get());
+        Assert.assertNotNull(first.get());
+        Assert.assertSame(first.get(), second.get());
+    }
+
+    @Test
+    public void testSnapshotsAreKeptByUserAndGroups() throws Exception {
+        GlobalSettings.get().setRefreshInterval(5);
+        DashboardSnapshotProvider provider = DashboardSnapshotProvider.get();
+        DashboardSnapshot alice;
+        try (ACLContext ctx = ACL.as(User.getById("alice", true).impersonate())) {
+            alice = provider.refresh();
+            Assert.assertSame(alice, provider.getLatest());
+        }
+        // same name, other groups
+        Authentication aliceAdmin = new UsernamePasswordAuthenticationToken("alice", "",
+                new GrantedAuthority[] { new GrantedAuthorityImpl("admins") });
+        try (ACLContext ctx = ACL.as(aliceAdmin)) {
+            Assert.assertNull(provider.getLatest());
+            Assert.assertNotSame(alice, provider.getSnapshot());
+        }
+    }
+}
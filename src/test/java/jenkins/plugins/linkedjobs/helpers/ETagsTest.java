@@ -0,0 +1,57 @@
+/*
+ * The MIT License
+ * 
+ * Copyright (C) 2026 Dominique Brice
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is furnished
+ * to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package jenkins.plugins.linkedjobs.helpers;
+
+import hudson.model.FreeStyleProject;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.jvnet.hudson.test.JenkinsRule;
+
+public class ETagsTest {
+
+    @Rule
+    public JenkinsRule j = new JenkinsRule();
+
+    @Test
+    public void testMatches() throws Exception {
+        Assert.assertFalse(ETags.matches(null, "W/\"abc\""));
+        Assert.assertTrue(ETags.matches("W/\"abc\"", "W/\"abc\""));
+        Assert.assertTrue(ETags.matches("\"abc\"", "W/\"abc\""));
+        Assert.assertTrue(ETags.matches("\"xyz\", W/\"abc\"", "W/\"abc\""));
+        Assert.assertTrue(ETags.matches("*", "W/\"abc\""));
+        Assert.assertFalse(ETags.matches("W/\"abcd\"", "W/\"abc\""));
+    }
+
+    @Test
+    public void testItemSaveChangesGeneration() throws Exception {
+        FreeStyleProject job = j.createFreeStyleProject("job");
+        long generation = ChangeLog.get().getGeneration();
+        // e.g. permissions of the job were changed
+        job.save();
+        Assert.assertTrue(ChangeLog.get().getGeneration() > generation);
+    }
+}
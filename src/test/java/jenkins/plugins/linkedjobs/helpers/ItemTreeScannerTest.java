@@ -0,0 +1,85 @@
+/*
+ * The MIT License
+ * 
+ * Copyright (C) 2026 Dominique Brice
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is furnished
+ * to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package jenkins.plugins.linkedjobs.helpers;
+
+import hudson.model.AbstractProject;
+import hudson.model.FreeStyleProject;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import jenkins.plugins.linkedjobs.settings.GlobalSettings;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.jvnet.hudson.test.JenkinsRule;
+import org.jvnet.hudson.test.MockFolder;
+
+public class ItemTreeScannerTest {
+
+    @Rule
+    public JenkinsRule j = new JenkinsRule();
+
+    // full names of the jobs, in the order they are visited
+    private static final ItemTreeScanner.Visitor<List<String>> NAMES = new ItemTreeScanner.Visitor<List<String>>() {
+        public List<String> newResult() {
+            return new ArrayList<String>();
+        }
+
+        public void visit(AbstractProject<?, ?> job, List<String> result) {
+            result.add(job.getFullName());
+        }
+
+        public void merge(List<String> into, List<String> from) {
+            into.addAll(from);
+        }
+    };
+
+    @Test
+    public void testSameJobsAsGetAllItems() throws Exception {
+        j.createFreeStyleProject("b");
+        MockFolder folder = j.createFolder("a");
+        folder.createProject(FreeStyleProject.class, "job2");
+        MockFolder sub = folder.createProject(MockFolder.class, "sub");
+        sub.createProject(FreeStyleProject.class, "job1");
+        sub.createProject(MockFolder.class, "empty");
+        folder.createProject(FreeStyleProject.class, "job1");
+        j.createFolder("c").createProject(MockFolder.class, "deep").createProject(FreeStyleProject.class, "job");
+        j.createFreeStyleProject("d");
+
+        List<String> expected = new ArrayList<String>();
+        for (AbstractProject<?, ?> job : j.jenkins.getAllItems(AbstractProject.class)) {
+            expected.add(job.getFullName());
+        }
+        Assert.assertEquals(7, expected.size());
+
+        // 0 means one thread per available processor
+        Assert.assertEquals(0, GlobalSettings.get().getScanParallelism());
+        Assert.assertEquals(expected, ItemTreeScanner.scan(NAMES));
+        Assert.assertEquals(expected, ItemTreeScanner.scan(NAMES, 1));
+        Assert.assertEquals(expected, ItemTreeScanner.scan(NAMES, 4));
+    }
+}
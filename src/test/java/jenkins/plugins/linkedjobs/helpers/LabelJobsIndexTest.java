@@ -0,0 +1,76 @@
+/*
+ * The MIT License
+ * 
+ * Copyright (C) 2026 Dominique Brice
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is furnished
+ * to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package jenkins.plugins.linkedjobs.helpers;
+
+import hudson.model.FreeStyleProject;
+import hudson.model.Label;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.jvnet.hudson.test.JenkinsRule;
+
+public class LabelJobsIndexTest {
+
+    @Rule
+    public JenkinsRule j = new JenkinsRule();
+
+    @Test
+    public void testIndexFollowsJobChanges() throws Exception {
+        Label linux = j.jenkins.getLabel("linux");
+        Label windows = j.jenkins.getLabel("windows");
+        FreeStyleProject job = j.createFreeStyleProject("job");
+        LabelJobsIndex index = LabelJobsIndex.get();
+        Assert.assertTrue(index.getJobsWithNoLabel().contains(job));
+
+        // setAssignedLabel saves the job, which updates the index
+        job.setAssignedLabel(linux);
+        Assert.assertFalse(index.getJobsWithNoLabel().contains(job));
+        Assert.assertTrue(index.getJobs(linux).contains(job));
+
+        job.setAssignedLabel(windows);
+        Assert.assertFalse("job still listed with its previous label", index.getLabels().contains(linux));
+        Assert.assertTrue(index.getJobs(windows).contains(job));
+
+        job.delete();
+        Assert.assertFalse(index.getLabels().contains(windows));
+        Assert.assertTrue(index.getJobs(windows).isEmpty());
+    }
+
+    @Test
+    public void testLabelsByAtom() throws Exception {
+        Label linuxX64 = j.jenkins.getLabel("linux&&x64");
+        FreeStyleProject job = j.createFreeStyleProject("job");
+        job.setAssignedLabel(linuxX64);
+        LabelJobsIndex index = LabelJobsIndex.get();
+        Assert.assertTrue(index.getLabels(j.jenkins.getLabelAtom("linux")).contains(linuxX64));
+        Assert.assertTrue(index.getLabels(j.jenkins.getLabelAtom("x64")).contains(linuxX64));
+        Assert.assertTrue(index.getLabels(j.jenkins.getLabelAtom("windows")).isEmpty());
+
+        job.setAssignedLabel(j.jenkins.getLabel("windows"));
+        Assert.assertTrue(index.getLabels(j.jenkins.getLabelAtom("linux")).isEmpty());
+        Assert.assertEquals(1, index.getLabels(j.jenkins.getLabelAtom("windows")).size());
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * The MIT License
+ * 
+ * Copyright (C) 2026 Dominique Brice
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is furnished
+ * to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package jenkins.plugins.linkedjobs.helpers;
+
+import hudson.model.FreeStyleProject;
+
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+
+import jenkins.plugins.linkedjobs.model.LabelAtomData;
+import net.sf.json.JSONObject;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.jvnet.hudson.test.JenkinsRule;
+
+public class LabelsDataJsonWriterTest {
+
+    @Rule
+    public JenkinsRule j = new JenkinsRule();
+
+    @Test
+    public void testFieldsAndPaging() throws Exception {
+        FreeStyleProject job = j.createFreeStyleProject("job");
+        List<LabelAtomData> labels = new ArrayList<LabelAtomData>();
+        for (String name : new String[] { "a", "b", "c" }) {
+            LabelAtomData data = new LabelAtomData(j.jenkins.getLabelAtom(name));
+            data.addJob(job);
+            labels.add(data);
+        }
+
+        JSONObject result = write(labels, "label,jobs", "1", "1");
+        Assert.assertEquals("ok", result.getString("status"));
+        Assert.assertEquals(3, result.getInt("total"));
+        Assert.assertEquals(1, result.getJSONArray("data").size());
+        JSONObject label = result.getJSONArray("data").getJSONObject(0);
+        Assert.assertEquals("b", label.getString("label"));
+        Assert.assertFalse("field was not requested", label.containsKey("nodesCount"));
+        JSONObject jsonJob = label.getJSONArray("jobs").getJSONObject(0);
+        Assert.assertEquals("job", jsonJob.getString("fullName"));
+        Assert.assertEquals(job.getUrl(), jsonJob.getString("url"));
+
+        // all fields by default
+        label = write(labels, null, null, null).getJSONArray("data").getJSONObject(0);
+        Assert.assertEquals(LabelsDataJsonWriter.FIELDS.size(), label.size());
+
+        // offset beyond the last label
+        Assert.assertEquals(0, write(labels, null, "10", null).getJSONArray("data").size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownField() {
+        new LabelsDataJsonWriter(new ArrayList<LabelAtomData>(), "label,unknown", null, null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeLimit() {
+        new LabelsDataJsonWriter(new ArrayList<LabelAtomData>(), null, null, "-1");
+    }
+
+    private static JSONObject write(List<LabelAtomData> labels, String fields, String offset, String limit) throws Exception {
+        StringWriter w = new StringWriter();
+        new LabelsDataJsonWriter(labels, fields, offset, limit).write(w);
+        return JSONObject.fromObject(w.toString());
+    }
+}
@@ -0,0 +1,204 @@
+/*
+ * The MIT License
+ * 
+ * Copyright (C) 2026 Dominique Brice
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is furnished
+ * to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package jenkins.plugins.linkedjobs.helpers;
+
+import hudson.model.Label;
+import hudson.model.Node;
+import hudson.model.labels.LabelAtom;
+import hudson.slaves.OfflineCause;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.jvnet.hudson.test.JenkinsRule;
+
+public class NodeMatchCacheTest {
+
+    @Rule
+    public JenkinsRule j = new JenkinsRule();
+
+    @Test
+    public void testSameNodesAsLabelMatches() throws Exception {
+        j.createSlave("a", "linux amd64", null);
+        j.createSlave("b", "linux arm64", null);
+        j.createSlave("c", "windows amd64", null);
+        j.createSlave("d", "", null);
+
+        NodeMatchCache cache = NodeMatchCache.get();
+        for (String expression : new String[] { "linux", "linux && !arm64", "linux || windows", "!linux",
+                "(linux || windows) && amd64", "linux -> arm64", "linux <-> amd64", "unknown", "b", "master" }) {
+            Label label = j.jenkins.getLabel(expression);
+            Assert.assertEquals(expression, expectedNodes(label), cache.getMatchingNodes(label));
+        }
+    }
+
+    @Test
+    public void testRefreshAfterRelabel() throws Exception {
+        Node node = j.createSlave("a", "linux", null);
+        Label linux = j.jenkins.getLabel("linux");
+        NodeMatchCache cache = NodeMatchCache.get();
+        Assert.assertEquals(1, cache.getMatchingNodesCount(linux));
+        Assert.assertSame(node, cache.getSingleMatchingNode(linux));
+
+        node.setLabelString("windows");
+        cache.refresh();
+        Assert.assertEquals(0, cache.getMatchingNodesCount(linux));
+        Assert.assertTrue(cache.matches(j.jenkins.getLabel("windows"), node));
+    }
+
+    @Test
+    public void testInvalidation() throws Exception {
+        Node a = j.createSlave("a", "linux", null);
+        Node b = j.createSlave("b", "linux arm64", null);
+        String[] expressions = { "linux", "linux && !arm64", "windows", "!linux" };
+        // cache the results, so that the following checks show they are invalidated
+        assertSameNodes(expressions);
+
+        // node added
+        j.createSlave("c", "linux windows", null);
+        assertSameNodes(expressions);
+
+        // node removed
+        j.jenkins.removeNode(b);
+        assertSameNodes(expressions);
+
+        // labels changed, and the node saved
+        a.setLabelString("windows");
+        j.jenkins.updateNode(a);
+        NodeMatchCache.get().refresh();
+        assertSameNodes(expressions);
+
+        // offline nodes still match, like in Label.getNodes(), but are not counted online
+        a.toComputer().setTemporarilyOffline(true, new OfflineCause.ByCLI("test"));
+        assertSameNodes(expressions);
+        Label windows = j.jenkins.getLabel("windows");
+        int online = 0;
+        for (Node node : expectedNodes(windows)) {
+            if (node.toComputer() != null && node.toComputer().isOnline()) {
+                online++;
+            }
+        }
+        Assert.assertEquals(online, NodeMatchCache.get().getOnlineMatchingNodesCount(windows));
+    }
+
+    @Test
+    public void testOnlineCountsAfterNodeChanges() throws Exception {
+        Node a = j.createOnlineSlave(j.jenkins.getLabel("linux"));
+        Node b = j.createOnlineSlave(j.jenkins.getLabel("linux"));
+        String[] expressions = { "linux", "windows", "!linux" };
+        // counted once, then only updated for the nodes that change
+        assertSameOnlineCounts(expressions);
+
+        // node added
+        Node c = j.createOnlineSlave(j.jenkins.getLabel("windows"));
+        NodeMatchCache.get().refresh();
+        assertSameOnlineCounts(expressions);
+
+        // labels changed, and the node saved
+        a.setLabelString("windows");
+        j.jenkins.updateNode(a);
+        NodeMatchCache.get().refresh();
+        assertSameOnlineCounts(expressions);
+
+        // node removed, another one offline
+        j.jenkins.removeNode(b);
+        c.toComputer().setTemporarilyOffline(true, new OfflineCause.ByCLI("test"));
+        NodeMatchCache.get().refresh();
+        assertSameOnlineCounts(expressions);
+    }
+
+    private void assertSameOnlineCounts(String[] expressions) {
+        for (String expression : expressions) {
+            Label label = j.jenkins.getLabel(expression);
+            int online = 0;
+            for (Node node : expectedNodes(label)) {
+                if (node.toComputer() != null && node.toComputer().isOnline()) {
+                    online++;
+                }
+            }
+            Assert.assertEquals(expression, online, NodeMatchCache.get().getOnlineMatchingNodesCount(label));
+        }
+    }
+
+    private void assertSameNodes(String[] expressions) {
+        for (String expression : expressions) {
+            Label label = j.jenkins.getLabel(expression);
+            Assert.assertEquals(expression, expectedNodes(label), NodeMatchCache.get().getMatchingNodes(label));
+        }
+    }
+
+    @Test
+    public void testOverlay() throws Exception {
+        j.createSlave("a", "linux amd64", null);
+        j.createSlave("b", "linux arm64", null);
+        j.createSlave("c", "windows amd64", null);
+        Label linux = j.jenkins.getLabel("linux");
+        Label notArm = j.jenkins.getLabel("!arm64");
+        Label windows = j.jenkins.getLabel("windows");
+        NodeMatchCache cache = NodeMatchCache.get();
+
+        NodeMatchCache.Overlay overlay = cache.overlay();
+        overlay.removeAtom("a", new LabelAtom("linux"));
+        overlay.addAtom("c", new LabelAtom("linux"));
+        overlay.removeNode("b");
+        Assert.assertFalse(overlay.hasNode("b"));
+        Assert.assertEquals(Arrays.asList("c"), names(overlay, overlay.getMatchingAfter(linux)));
+        Assert.assertEquals(Arrays.asList("a", "b"), names(overlay, overlay.getMatchingBefore(linux)));
+        // master is numbered first
+        Assert.assertEquals(Arrays.asList("", "a", "c"), names(overlay, overlay.getMatchingAfter(notArm)));
+        Assert.assertEquals(Arrays.asList("c"), names(overlay, overlay.getMatchingAfter(windows)));
+
+        // nothing changed in the cache
+        Assert.assertEquals(2, cache.getMatchingNodesCount(linux));
+        Assert.assertEquals(3, cache.getMatchingNodesCount(notArm));
+    }
+
+    private static List<String> names(NodeMatchCache.Overlay overlay, BitSet nodes) {
+        List<String> result = new ArrayList<String>();
+        for (int i = nodes.nextSetBit(0); i >= 0; i = nodes.nextSetBit(i + 1)) {
+            result.add(overlay.getNode(i).getNodeName());
+        }
+        return result;
+    }
+
+    // nodes matching this label the way Label.getNodes() does it, without its cache, in the order of the cache
+    private List<Node> expectedNodes(Label label) {
+        List<Node> result = new ArrayList<Node>();
+        if (label.matches(j.jenkins)) {
+            result.add(j.jenkins);
+        }
+        for (Node node : j.jenkins.getNodes()) {
+            if (label.matches(node)) {
+                result.add(node);
+            }
+        }
+        return result;
+    }
+}
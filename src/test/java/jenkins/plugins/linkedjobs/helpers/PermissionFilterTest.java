@@ -0,0 +1,106 @@
+/*
+ * The MIT License
+ * 
+ * Copyright (C) 2026 Dominique Brice
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is furnished
+ * to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package jenkins.plugins.linkedjobs.helpers;
+
+import hudson.model.AbstractProject;
+import hudson.model.FreeStyleProject;
+import hudson.model.Item;
+import hudson.model.User;
+import hudson.security.ACL;
+import hudson.security.ACLContext;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import jenkins.model.Jenkins;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.jvnet.hudson.test.JenkinsRule;
+import org.jvnet.hudson.test.MockAuthorizationStrategy;
+import org.jvnet.hudson.test.MockFolder;
+
+public class PermissionFilterTest {
+
+    @Rule
+    public JenkinsRule j = new JenkinsRule();
+
+    @Test
+    public void testFoldersAndInvalidation() throws Exception {
+        FreeStyleProject visible = j.createFreeStyleProject("visible");
+        FreeStyleProject hidden = j.createFreeStyleProject("hidden");
+        MockFolder folder = j.createFolder("folder");
+        FreeStyleProject inFolder = folder.createProject(FreeStyleProject.class, "inFolder");
+
+        j.jenkins.setSecurityRealm(j.createDummySecurityRealm());
+        j.jenkins.setAuthorizationStrategy(new MockAuthorizationStrategy()
+                .grant(Jenkins.READ).everywhere().to("dev")
+                .grant(Item.READ).onItems(visible, inFolder).to("dev"));
+        j.jenkins.save();
+
+        List<AbstractProject<?, ?>> jobs = Arrays.<AbstractProject<?, ?>>asList(visible, hidden, inFolder);
+        try (ACLContext ctx = ACL.as(User.getById("dev", true).impersonate())) {
+            // the folder of inFolder can't be read
+            Assert.assertEquals(Arrays.asList(visible), PermissionFilter.filterReadable(new ArrayList<AbstractProject<?, ?>>(jobs)));
+        }
+
+        j.jenkins.setAuthorizationStrategy(new MockAuthorizationStrategy()
+                .grant(Jenkins.READ).everywhere().to("dev")
+                .grant(Item.READ).onItems(visible, folder).to("dev"));
+        // saving the security configuration drops the cached decisions
+        j.jenkins.save();
+        try (ACLContext ctx = ACL.as(User.getById("dev", true).impersonate())) {
+            Assert.assertEquals(Arrays.asList(visible, inFolder), PermissionFilter.filterReadable(new ArrayList<AbstractProject<?, ?>>(jobs)));
+        }
+    }
+
+    @Test
+    public void testOnlySavedItemIsForgotten() throws Exception {
+        FreeStyleProject visible = j.createFreeStyleProject("visible");
+        FreeStyleProject hidden = j.createFreeStyleProject("hidden");
+
+        j.jenkins.setSecurityRealm(j.createDummySecurityRealm());
+        j.jenkins.setAuthorizationStrategy(new MockAuthorizationStrategy()
+                .grant(Jenkins.READ).everywhere().to("dev")
+                .grant(Item.READ).onItems(visible).to("dev"));
+        j.jenkins.save();
+
+        List<AbstractProject<?, ?>> jobs = Arrays.<AbstractProject<?, ?>>asList(visible, hidden);
+        try (ACLContext ctx = ACL.as(User.getById("dev", true).impersonate())) {
+            Assert.assertEquals(Arrays.asList(visible), PermissionFilter.filterReadable(new ArrayList<AbstractProject<?, ?>>(jobs)));
+        }
+
+        // not saved: only the decision about the saved job is dropped
+        j.jenkins.setAuthorizationStrategy(new MockAuthorizationStrategy()
+                .grant(Jenkins.READ).everywhere().to("dev")
+                .grant(Item.READ).onItems(hidden).to("dev"));
+        hidden.save();
+        try (ACLContext ctx = ACL.as(User.getById("dev", true).impersonate())) {
+            Assert.assertEquals(jobs, PermissionFilter.filterReadable(new ArrayList<AbstractProject<?, ?>>(jobs)));
+        }
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * The MIT License
+ * 
+ * Copyright (C) 2026 Dominique Brice
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is furnished
+ * to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package jenkins.plugins.linkedjobs.helpers;
+
+import net.sf.json.JSONObject;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class PhaseTimingsTest {
+
+    @Test
+    public void testPercentiles() {
+        PhaseTimings.Histogram histogram = new PhaseTimings.Histogram();
+        for (int i = 1; i <= 100; i++) {
+            histogram.add(i * 1000000L);
+        }
+        JSONObject json = histogram.toJSON();
+        Assert.assertEquals(100, json.getInt("count"));
+        Assert.assertEquals(50.0, json.getDouble("p50"), 0.001);
+        Assert.assertEquals(95.0, json.getDouble("p95"), 0.001);
+        Assert.assertEquals(99.0, json.getDouble("p99"), 0.001);
+        Assert.assertEquals(100.0, json.getDouble("max"), 0.001);
+    }
+
+    @Test
+    public void testOnlyLastSamplesAreKept() {
+        PhaseTimings.Histogram histogram = new PhaseTimings.Histogram();
+        for (int i = 0; i < PhaseTimings.SAMPLES; i++) {
+            histogram.add(1000000000L);
+        }
+        for (int i = 0; i < PhaseTimings.SAMPLES; i++) {
+            histogram.add(1000000L);
+        }
+        JSONObject json = histogram.toJSON();
+        Assert.assertEquals(2 * PhaseTimings.SAMPLES, json.getInt("count"));
+        Assert.assertEquals(1.0, json.getDouble("max"), 0.001);
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * The MIT License
+ * 
+ * Copyright (C) 2026 Dominique Brice
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is furnished
+ * to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package jenkins.plugins.linkedjobs.helpers;
+
+import hudson.model.FreeStyleProject;
+
+import java.io.StringWriter;
+
+import net.sf.json.JSONArray;
+import net.sf.json.JSONObject;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.jvnet.hudson.test.JenkinsRule;
+
+public class QueryJsonWriterTest {
+
+    @Rule
+    public JenkinsRule j = new JenkinsRule();
+
+    @Test
+    public void testQuery() throws Exception {
+        j.createSlave("node1", "linux docker", null);
+        j.createSlave("node2", "linux arm", null);
+        j.createSlave("node3", "windows", null);
+        FreeStyleProject dockerJob = j.createFreeStyleProject("dockerJob");
+        dockerJob.setAssignedLabel(j.jenkins.getLabel("docker"));
+        FreeStyleProject linuxJob = j.createFreeStyleProject("linuxJob");
+        linuxJob.setAssignedLabel(j.jenkins.getLabel("linux"));
+        FreeStyleProject notWindowsJob = j.createFreeStyleProject("notWindowsJob");
+        notWindowsJob.setAssignedLabel(j.jenkins.getLabel("!windows"));
+        FreeStyleProject windowsJob = j.createFreeStyleProject("windowsJob");
+        windowsJob.setAssignedLabel(j.jenkins.getLabel("windows"));
+
+        JSONObject result = query("linux && docker && !arm", null, null);
+        Assert.assertEquals("ok", result.getString("status"));
+        JSONArray nodes = result.getJSONObject("nodes").getJSONArray("data");
+        Assert.assertEquals(1, nodes.size());
+        Assert.assertEquals("node1", nodes.getString(0));
+        Assert.assertTrue(result.getJSONArray("clouds").isEmpty());
+
+        // found through the atoms of node1, and !windows through the labels matching no atom
+        JSONObject jobs = result.getJSONObject("jobs");
+        Assert.assertEquals(3, jobs.getInt("total"));
+        JSONArray data = jobs.getJSONArray("data");
+        Assert.assertEquals("!windows", data.getJSONObject(0).getString("label"));
+        Assert.assertEquals("overlaps", data.getJSONObject(0).getString("match"));
+        Assert.assertEquals("docker", data.getJSONObject(1).getString("label"));
+        Assert.assertEquals("implies", data.getJSONObject(1).getString("match"));
+        Assert.assertEquals("linux", data.getJSONObject(2).getString("label"));
+        Assert.assertEquals("overlaps", data.getJSONObject(2).getString("match"));
+
+        // paging
+        result = query("linux", "1", "1");
+        Assert.assertEquals(2, result.getJSONObject("nodes").getInt("total"));
+        Assert.assertEquals("node2", result.getJSONObject("nodes").getJSONArray("data").getString(0));
+        Assert.assertEquals(1, result.getJSONObject("jobs").getJSONArray("data").size());
+    }
+
+    @Test
+    public void testQueryIsNotCached() throws Exception {
+        j.createSlave("node1", "linux docker", null);
+        j.jenkins.clouds.add(new CloudProvisioningCacheTest.CountingCloud("cloud", "windows"));
+        j.createFreeStyleProject("linuxJob").setAssignedLabel(j.jenkins.getLabel("linux"));
+        // the labels of jobs are cached by the first query
+        query("linux", null, null);
+        int canonicalLabels = CanonicalLabels.size();
+        int nodeMatches = NodeMatchCache.get().size();
+        int cloudResults = CloudProvisioningCache.get().size();
+
+        for (int i = 0; i < 10; i++) {
+            JSONObject result = query("docker && !arm" + i, null, null);
+            Assert.assertEquals(1, result.getJSONObject("nodes").getInt("total"));
+            Assert.assertEquals(1, result.getJSONObject("jobs").getInt("total"));
+        }
+        Assert.assertEquals(canonicalLabels, CanonicalLabels.size());
+        Assert.assertEquals(nodeMatches, NodeMatchCache.get().size());
+        Assert.assertEquals(cloudResults, CloudProvisioningCache.get().size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidExpression() throws Exception {
+        new QueryJsonWriter("linux &&", null, null);
+    }
+
+    private static JSONObject query(String expr, String offset, String limit) throws Exception {
+        StringWriter w = new StringWriter();
+        new QueryJsonWriter(expr, offset, limit).write(w);
+        return JSONObject.fromObject(w.toString());
+    }
+}
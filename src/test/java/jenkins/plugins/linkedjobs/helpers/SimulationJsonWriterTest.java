@@ -0,0 +1,96 @@
+/*
+ * The MIT License
+ * 
+ * Copyright (C) 2026 Dominique Brice
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is furnished
+ * to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package jenkins.plugins.linkedjobs.helpers;
+
+import hudson.model.FreeStyleProject;
+
+import java.io.StringWriter;
+
+import net.sf.json.JSONArray;
+import net.sf.json.JSONObject;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.jvnet.hudson.test.JenkinsRule;
+
+public class SimulationJsonWriterTest {
+
+    @Rule
+    public JenkinsRule j = new JenkinsRule();
+
+    @Test
+    public void testSimulate() throws Exception {
+        j.createSlave("node1", "linux gpu", null);
+        j.createSlave("node2", "linux", null);
+        FreeStyleProject gpuJob = j.createFreeStyleProject("gpuJob");
+        gpuJob.setAssignedLabel(j.jenkins.getLabel("gpu"));
+        FreeStyleProject linuxJob = j.createFreeStyleProject("linuxJob");
+        linuxJob.setAssignedLabel(j.jenkins.getLabel("linux"));
+        FreeStyleProject dockerJob = j.createFreeStyleProject("dockerJob");
+        dockerJob.setAssignedLabel(j.jenkins.getLabel("docker"));
+
+        JSONObject result = simulate("remove node1\nnode node2 +docker\n# comment\n\ncloud gpu");
+        Assert.assertEquals("ok", result.getString("status"));
+
+        // gpu is provisioned by the new cloud
+        Assert.assertTrue(result.getJSONObject("orphanedJobs").getJSONArray("added").isEmpty());
+        JSONArray noLongerOrphaned = result.getJSONObject("orphanedJobs").getJSONArray("removed");
+        Assert.assertEquals(1, noLongerOrphaned.size());
+        Assert.assertEquals("dockerJob", noLongerOrphaned.getJSONObject(0).getJSONObject("job").getString("name"));
+
+        // gpuJob loses its single node, linuxJob and dockerJob now have only node2
+        JSONArray singleNodeRemoved = result.getJSONObject("singleNodeJobs").getJSONArray("removed");
+        Assert.assertEquals(1, singleNodeRemoved.size());
+        Assert.assertEquals("gpu", singleNodeRemoved.getJSONObject(0).getString("label"));
+        Assert.assertEquals("node1", singleNodeRemoved.getJSONObject(0).getJSONArray("nodes").getString(0));
+        Assert.assertEquals(2, result.getJSONObject("singleNodeJobs").getJSONArray("added").size());
+
+        JSONArray newlyMatched = result.getJSONArray("newlyMatchedJobs");
+        Assert.assertEquals(1, newlyMatched.size());
+        Assert.assertEquals("dockerJob", newlyMatched.getJSONObject(0).getJSONObject("job").getString("name"));
+        Assert.assertEquals("node2", newlyMatched.getJSONObject(0).getJSONArray("nodes").getString(0));
+
+        // nothing changed
+        Assert.assertEquals(2, NodeMatchCache.get().getMatchingNodesCount(j.jenkins.getLabel("linux")));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownNode() throws Exception {
+        new SimulationJsonWriter("remove unknown");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidChange() throws Exception {
+        j.createSlave("node1", "linux", null);
+        new SimulationJsonWriter("node node1 linux");
+    }
+
+    private static JSONObject simulate(String changes) throws Exception {
+        StringWriter w = new StringWriter();
+        new SimulationJsonWriter(changes).write(w);
+        return JSONObject.fromObject(w.toString());
+    }
+}
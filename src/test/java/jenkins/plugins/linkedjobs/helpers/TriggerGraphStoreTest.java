@@ -0,0 +1,101 @@
+/*
+ * The MIT License
+ * 
+ * Copyright (C) 2026 Dominique Brice
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is furnished
+ * to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package jenkins.plugins.linkedjobs.helpers;
+
+import hudson.model.AbstractProject;
+import hudson.model.FreeStyleProject;
+import hudson.model.Label;
+import hudson.model.ParametersDefinitionProperty;
+import hudson.plugins.parameterizedtrigger.AbstractBuildParameters;
+import hudson.plugins.parameterizedtrigger.BlockableBuildTriggerConfig;
+import hudson.plugins.parameterizedtrigger.TriggerBuilder;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import jenkins.plugins.linkedjobs.model.TriggeredJob;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.jvnet.hudson.test.JenkinsRule;
+import org.jvnet.jenkins.plugins.nodelabelparameter.LabelParameterDefinition;
+import org.jvnet.jenkins.plugins.nodelabelparameter.parameterizedtrigger.NodeLabelBuildParameter;
+
+public class TriggerGraphStoreTest {
+
+    @Rule
+    public JenkinsRule j = new JenkinsRule();
+
+    @Test
+    public void testGraphIsRestored() throws Exception {
+        FreeStyleProject triggered = j.createFreeStyleProject("triggered");
+        triggered.addProperty(new ParametersDefinitionProperty(
+                new LabelParameterDefinition("NODE", "", "linux", false, false, "")));
+        FreeStyleProject triggering = j.createFreeStyleProject("triggering");
+        List<AbstractBuildParameters> parameters = new ArrayList<AbstractBuildParameters>();
+        parameters.add(new NodeLabelBuildParameter("NODE", "windows"));
+        triggering.getBuildersList().add(new TriggerBuilder(
+                new BlockableBuildTriggerConfig("triggered", null, parameters)));
+
+        // computed from scratch, then saved
+        TriggerGraph graph = new TriggerGraph();
+        Map<Label, HashMap<AbstractProject<?, ?>, TriggeredJob>> expected = populate(graph);
+        // waits for the write scheduled by the first load, if still running
+        graph.save();
+        File file = new File(j.jenkins.getRootDir(), TriggerGraphStore.FILE_NAME);
+        Assert.assertTrue(file.isFile());
+
+        Map<String, TriggerGraphStore.Entry> stored = new TriggerGraphStore(file).load();
+        Assert.assertEquals(2, stored.size());
+        Assert.assertTrue(stored.get("triggering").triggering);
+        Assert.assertTrue(stored.get("triggering").isUpToDate(triggering));
+        Assert.assertEquals("linux", stored.get("triggered").defaultLabels.get(0));
+
+        // restored by another graph
+        Map<Label, HashMap<AbstractProject<?, ?>, TriggeredJob>> restored = populate(new TriggerGraph());
+        Assert.assertEquals(expected.keySet(), restored.keySet());
+        Label windows = j.jenkins.getLabel("windows");
+        Assert.assertTrue(restored.get(windows).containsKey(triggered));
+    }
+
+    @Test
+    public void testCorruptFileIsIgnored() throws Exception {
+        File file = new File(j.jenkins.getRootDir(), TriggerGraphStore.FILE_NAME);
+        Files.write(file.toPath(), new byte[] { 1, 2, 3 });
+        Assert.assertTrue(new TriggerGraphStore(file).load().isEmpty());
+    }
+
+    private static Map<Label, HashMap<AbstractProject<?, ?>, TriggeredJob>> populate(TriggerGraph graph) {
+        HashMap<Label, HashMap<AbstractProject<?, ?>, TriggeredJob>> result =
+                new HashMap<Label, HashMap<AbstractProject<?, ?>, TriggeredJob>>();
+        graph.populateTriggeredJobs(result);
+        return result;
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ * The MIT License
+ * 
+ * Copyright (C) 2026 Dominique Brice
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is furnished
+ * to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package jenkins.plugins.linkedjobs.helpers;
+
+import hudson.model.AbstractProject;
+import hudson.model.FreeStyleProject;
+import hudson.model.Label;
+import hudson.model.ParametersDefinitionProperty;
+import hudson.plugins.parameterizedtrigger.AbstractBuildParameters;
+import hudson.plugins.parameterizedtrigger.BlockableBuildTriggerConfig;
+import hudson.plugins.parameterizedtrigger.TriggerBuilder;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import jenkins.plugins.linkedjobs.model.TriggeredJob;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.jvnet.hudson.test.JenkinsRule;
+import org.jvnet.jenkins.plugins.nodelabelparameter.LabelParameterDefinition;
+import org.jvnet.jenkins.plugins.nodelabelparameter.parameterizedtrigger.NodeLabelBuildParameter;
+
+public class TriggerGraphTest {
+
+    @Rule
+    public JenkinsRule j = new JenkinsRule();
+
+    private FreeStyleProject triggering;
+    private FreeStyleProject triggered;
+
+    // a graph computed once, then only maintained
+    private void createJobs() throws Exception {
+        triggered = createParameterized("triggered", "linux");
+        createParameterized("other", "windows");
+        triggering = j.createFreeStyleProject("triggering");
+        triggering.getBuildersList().add(new TriggerBuilder(
+                trigger("triggered", "gpu"), trigger("other", "linux"), trigger("later", "arm64")));
+        TriggeredJobsHelper.load();
+        assertSameAsRebuilt();
+    }
+
+    @Test
+    public void testTriggerLabelChanged() throws Exception {
+        createJobs();
+        triggering.getBuildersList().replace(new TriggerBuilder(
+                trigger("triggered", "solaris"), trigger("other", "linux")));
+        Assert.assertTrue(assertSameAsRebuilt().containsKey("solaris"));
+    }
+
+    @Test
+    public void testTriggeredJobDeleted() throws Exception {
+        createJobs();
+        triggered.delete();
+        assertSameAsRebuilt();
+    }
+
+    @Test
+    public void testTriggeredJobRenamed() throws Exception {
+        createJobs();
+        triggered.renameTo("renamed");
+        assertSameAsRebuilt();
+    }
+
+    @Test
+    public void testJobCreated() throws Exception {
+        createJobs();
+        createParameterized("later", "aix");
+        Assert.assertTrue(assertSameAsRebuilt().get("arm64").containsKey("later"));
+    }
+
+    @Test
+    public void testJobRenamedToReferencedName() throws Exception {
+        createJobs();
+        FreeStyleProject job = createParameterized("unrelated", "aix");
+        job.renameTo("later");
+        Assert.assertTrue(assertSameAsRebuilt().get("arm64").containsKey("later"));
+    }
+
+    @Test
+    public void testSimpleName() {
+        Assert.assertEquals("job", TriggerGraph.simpleName("job"));
+        Assert.assertEquals("job", TriggerGraph.simpleName("folder/job"));
+        Assert.assertEquals("job", TriggerGraph.simpleName("../job"));
+    }
+
+    private FreeStyleProject createParameterized(String name, String defaultLabel) throws Exception {
+        FreeStyleProject job = j.createFreeStyleProject(name);
+        job.addProperty(new ParametersDefinitionProperty(
+                new LabelParameterDefinition("NODE", "", defaultLabel, false, false, "")));
+        return job;
+    }
+
+    private static BlockableBuildTriggerConfig trigger(String projects, String label) {
+        List<AbstractBuildParameters> parameters = new ArrayList<AbstractBuildParameters>();
+        parameters.add(new NodeLabelBuildParameter("NODE", label));
+        return new BlockableBuildTriggerConfig(projects, null, parameters);
+    }
+
+    // the maintained graph must give the same result as a graph computed from scratch
+    private Map<String, Map<String, TreeSet<String>>> assertSameAsRebuilt() {
+        Map<String, Map<String, TreeSet<String>>> maintained = describeTriggeredJobs(null);
+        Map<String, TreeSet<String>> maintainedDefaults = describeDefaultLabels(null);
+
+        // nothing restored from disk
+        new File(j.jenkins.getRootDir(), TriggerGraphStore.FILE_NAME).delete();
+        TriggerGraph rebuilt = new TriggerGraph();
+        Assert.assertEquals(describeTriggeredJobs(rebuilt), maintained);
+        Assert.assertEquals(describeDefaultLabels(rebuilt), maintainedDefaults);
+        return maintained;
+    }
+
+    // label -> triggered job -> triggering jobs, from the given graph or the maintained one if null
+    private static Map<String, Map<String, TreeSet<String>>> describeTriggeredJobs(TriggerGraph graph) {
+        HashMap<Label, HashMap<AbstractProject<?, ?>, TriggeredJob>> triggeredJobsByLabel =
+                new HashMap<Label, HashMap<AbstractProject<?, ?>, TriggeredJob>>();
+        if (graph == null) {
+            TriggeredJobsHelper.populateTriggeredJobs(triggeredJobsByLabel);
+        }
+        else {
+            graph.populateTriggeredJobs(triggeredJobsByLabel);
+        }
+        Map<String, Map<String, TreeSet<String>>> result = new TreeMap<String, Map<String, TreeSet<String>>>();
+        for (Map.Entry<Label, HashMap<AbstractProject<?, ?>, TriggeredJob>> entry : triggeredJobsByLabel.entrySet()) {
+            Map<String, TreeSet<String>> jobs = new TreeMap<String, TreeSet<String>>();
+            for (TriggeredJob job : entry.getValue().values()) {
+                TreeSet<String> triggeringJobs = new TreeSet<String>();
+                for (AbstractProject<?, ?> triggeringJob : job.getTriggeringJobs()) {
+                    triggeringJobs.add(triggeringJob.getFullName());
+                }
+                jobs.put(job.getTriggeredJob().getFullName(), triggeringJobs);
+            }
+            result.put(entry.getKey().getExpression(), jobs);
+        }
+        return result;
+    }
+
+    // label -> jobs using it as default value, from the given graph or the maintained one if null
+    private static Map<String, TreeSet<String>> describeDefaultLabels(TriggerGraph graph) {
+        HashMap<Label, List<AbstractProject<?, ?>>> jobsByDefaultLabel = new HashMap<Label, List<AbstractProject<?, ?>>>();
+        if (graph == null) {
+            TriggeredJobsHelper.populateJobsWithLabelDefaultValue(jobsByDefaultLabel);
+        }
+        else {
+            graph.populateJobsWithLabelDefaultValue(jobsByDefaultLabel);
+        }
+        Map<String, TreeSet<String>> result = new TreeMap<String, TreeSet<String>>();
+        for (Map.Entry<Label, List<AbstractProject<?, ?>>> entry : jobsByDefaultLabel.entrySet()) {
+            TreeSet<String> jobs = new TreeSet<String>();
+            for (AbstractProject<?, ?> job : entry.getValue()) {
+                jobs.add(job.getFullName());
+            }
+            result.put(entry.getKey().getExpression(), jobs);
+        }
+        return result;
+    }
+}